@@ -38,4 +38,292 @@ public class DAConfig extends AbstractModuleConfig {
     @JsonProperty(required = false)
     private Integer aproxRequestTimeout = 600000;
 
+    /**
+     * Maximum number of pooled connections to Indy.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxMaxConnections = 100;
+
+    /**
+     * Maximum number of pooled connections to single Indy route (host and port).
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxMaxConnectionsPerRoute = 50;
+
+    /**
+     * Time in milliseconds after which idle pooled connections to Indy are closed.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxConnectionIdleTimeout = 60000;
+
+    /**
+     * Time in milliseconds for which cached version metadata from Indy are considered fresh.
+     * After that they are revalidated using conditional request.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxMetadataCacheTtl = 300000;
+
+    /**
+     * Maximum number of version metadata entries kept in the cache.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxMetadataCacheSize = 10000;
+
+    /**
+     * Time in milliseconds for which it is remembered that metadata were not found in Indy.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxNotFoundCacheTtl = 60000;
+
+    /**
+     * Maximum number of remembered not found metadata.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxNotFoundCacheSize = 10000;
+
+    /**
+     * Initial number of concurrent requests to Indy allowed for each request type. The limit is
+     * then adjusted according to the observed latency.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxLimiterInitialLimit = 20;
+
+    /**
+     * Minimal number of concurrent requests to Indy allowed for each request type.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxLimiterMinLimit = 2;
+
+    /**
+     * Maximal number of concurrent requests to Indy allowed for each request type.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxLimiterMaxLimit = 50;
+
+    /**
+     * Latency in milliseconds above which Indy is considered overloaded and the concurrency limit
+     * is decreased.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxLimiterLatencyThreshold = 2000;
+
+    /**
+     * Maximal number of requests waiting for the concurrency limit, for each request type.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxLimiterQueueSize = 1000;
+
+    /**
+     * Maximal time in milliseconds a blocking request waits for the concurrency limit, before it
+     * is rejected.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxLimiterQueueTimeout = 30000;
+
+    /**
+     * When true, requests over the concurrency limit are rejected immediately instead of waiting
+     * in queue, and reports are returned with partial results.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Boolean aproxLimiterFastFail = false;
+
+    /**
+     * Number of last requests to a repository group from which the circuit breaker computes the
+     * failure rate.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxCircuitWindowSize = 20;
+
+    /**
+     * Percentage of failed or slow requests to a repository group which opens the circuit.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxCircuitFailureRateThreshold = 50;
+
+    /**
+     * Latency in milliseconds above which the request counts as failed for the circuit breaker.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxCircuitSlowCallThreshold = 30000;
+
+    /**
+     * Time in milliseconds for which the circuit stays open before a probe request is allowed.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxCircuitOpenDuration = 30000;
+
+    /**
+     * When true, a second metadata request is sent when the first one doesn't respond within the
+     * 95th percentile of recent latencies, and the first response is used.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Boolean aproxHedgingEnabled = false;
+
+    /**
+     * Maximum number of remembered results of checks whether an artifact exists in Indy.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxExistenceCacheSize = 100000;
+
+    /**
+     * Time in milliseconds for which it is remembered that an artifact doesn't exist in Indy.
+     * Existing artifacts are remembered until evicted.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer aproxMissingArtifactCacheTtl = 60000;
+
+    /**
+     * Time in milliseconds after which results of a product provider are not awaited any more
+     * and the aggregated result is returned without them. Zero or negative value means no
+     * deadline.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer productProviderDeadline = 300000;
+
+    /**
+     * Number of threads running database queries of the product provider. Should match the
+     * maximal size of the datasource connection pool.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer databaseExecutorPoolSize = 20;
+
+    /**
+     * Maximal number of database queries of the product provider waiting for a free thread.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer databaseExecutorQueueSize = 1000;
+
+    /**
+     * Maximum number of cached SCM reports. Zero or negative value disables the cache.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer reportCacheSize = 100;
+
+    /**
+     * Time in milliseconds for which a cached SCM report is served. Reports contain artifacts
+     * found in the repositories, which change without notice, so the reports must expire.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer reportCacheTtl = 3600000;
+
+    /**
+     * Maximum size in bytes of a streamed SCM report which is cached. Bigger reports are only
+     * streamed to the client, so that a huge report doesn't have to be kept in memory.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer reportCacheMaxReportSize = 10485760;
+
+    /**
+     * Number of threads generating reports of asynchronous report jobs.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer reportJobWorkers = 4;
+
+    /**
+     * Maximum number of asynchronous report jobs waiting for a free worker.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer reportJobQueueSize = 100;
+
+    /**
+     * Time in milliseconds for which results of finished report jobs are kept.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer reportJobResultTtl = 3600000;
+
+    /**
+     * Maximum total size in bytes of kept results of finished report jobs. When it is exceeded,
+     * the oldest results are dropped before they expire.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer reportJobMaxResultsSize = 104857600;
+
+    /**
+     * Maximum number of GAs looked up concurrently when the lookup results are streamed.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer lookupStreamingMaxInFlight = 100;
+
+    /**
+     * Time in milliseconds after which the streamed lookup stops waiting for the remaining GAs
+     * and reports them as failed.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer lookupStreamingTimeout = 600000;
+
+    /**
+     * Time in milliseconds after which resolving of a revision in a remote SCM repository is
+     * aborted.
+     */
+    @Getter
+    @Setter
+    @JsonProperty(required = false)
+    private Integer scmResolveTimeout = 30000;
+
 }
@@ -31,6 +31,9 @@ import lombok.Data;
  */
 public class VersionAnalyzer {
 
+    private static final Pattern UNSUFFIXED_PATTERN = Pattern.compile("^"
+            + VersionParser.RE_MMM + VersionParser.RE_QUALIFIER + "?");
+
     private final VersionParser versionParser;
 
     public VersionAnalyzer(VersionParser versionParser) {
@@ -96,10 +99,8 @@ public class VersionAnalyzer {
      * X.something.
      */
     private String getMoreSpecificVersion(String first, String second) {
-        Pattern pattern = Pattern.compile("^" + VersionParser.RE_MMM + VersionParser.RE_QUALIFIER
-                + "?");
-        Matcher firstMatcher = pattern.matcher(first);
-        Matcher secondMatcher = pattern.matcher(second);
+        Matcher firstMatcher = UNSUFFIXED_PATTERN.matcher(first);
+        Matcher secondMatcher = UNSUFFIXED_PATTERN.matcher(second);
         if (!firstMatcher.matches()) {
             throw new IllegalArgumentException("Couldn't parse version " + first);
         }
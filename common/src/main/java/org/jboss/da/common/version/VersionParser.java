@@ -1,73 +1,184 @@
 package org.jboss.da.common.version;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.commonjava.maven.ext.manip.impl.Version;
 
+/**
+ * Parses versions to {@link SuffixedVersion}. The parser is immutable and thread-safe, use
+ * {@link #getParser(String)} to obtain a shared instance.
+ *
+ * The version is scanned in a single pass as major.minor.micro.qualifier-suffix-X, with the same
+ * result as matching RE_MMM and RE_QUALIFIER followed by the optional suffix. The suffix is
+ * matched literally.
+ */
 public class VersionParser {
 
     public static final String DEFAULT_SUFFIX = "redhat";
 
-    private final String suffix;
+    /**
+     * Maximum number of shared parsers, the suffixes come from the requests, so the registry
+     * must not grow without limit.
+     */
+    private static final int MAX_SHARED_PARSERS = 64;
 
-    private final Pattern defaultPattern = Pattern.compile("^" + RE_MMM + RE_QUALIFIER + "??"
-            + RE_SUFFIX_S + DEFAULT_SUFFIX + RE_SUFFIX_E + "$");
+    private static final ConcurrentMap<String, VersionParser> PARSERS = new ConcurrentHashMap<>();
 
-    private final Pattern versionPattern;
+    // numbers limited to max 9 digits, beacuse of integer limitatations
+    private static final int MAX_DIGITS = 9;
+
+    private final String suffix;
 
     // major.minor.micro.qualifier-suffix-X
-    // numbers limited to max 9 digits, beacuse of integer limitatations
     static final String RE_MMM = "((?<major>[0-9]{1,9})?(\\.(?<minor>[0-9]{1,9})(\\.(?<micro>[0-9]{1,9}))?)?)";
 
     static final String RE_QUALIFIER = "([.-]?(?<qualifier>.+?))";
 
-    private static final String RE_SUFFIX_S = "([.-]";
-
-    private static final String RE_SUFFIX_E = "-(?<suffixversion>[0-9]{1,9}))?";
-
     public VersionParser(String suffix) {
         this.suffix = suffix;
-        this.versionPattern = Pattern.compile("^" + RE_MMM + RE_QUALIFIER + "??" + RE_SUFFIX_S
-                + suffix + RE_SUFFIX_E + "$");
+    }
+
+    /**
+     * Returns shared parser for the given suffix.
+     *
+     * @param suffix Suffix of the product versions.
+     */
+    public static VersionParser getParser(String suffix) {
+        VersionParser parser = PARSERS.get(suffix);
+        if (parser != null) {
+            return parser;
+        }
+        parser = new VersionParser(suffix);
+        if (PARSERS.size() < MAX_SHARED_PARSERS) {
+            VersionParser present = PARSERS.putIfAbsent(suffix, parser);
+            if (present != null) {
+                return present;
+            }
+        }
+        return parser;
     }
 
     public SuffixedVersion parse(String version) {
-        SuffixedVersion suffixedVersion = parseVersion(versionPattern.matcher(version), version,
-                suffix);
-        if (!suffixedVersion.isSuffixed()) {
-            suffixedVersion = parseVersion(defaultPattern.matcher(version), version, DEFAULT_SUFFIX);
+        int length = version.length();
+        for (int i = 0; i < length; i++) {
+            if (isLineTerminator(version.charAt(i))) {
+                throw new IllegalArgumentException("Version " + version + "is unparsable");
+            }
+        }
+
+        int majorEnd = digitsEnd(version, 0);
+        int major = parseNumber(version, 0, majorEnd);
+        int minor = 0;
+        int micro = 0;
+        int pos = majorEnd;
+        if (isDotAndDigit(version, pos)) {
+            int minorEnd = digitsEnd(version, pos + 1);
+            minor = parseNumber(version, pos + 1, minorEnd);
+            pos = minorEnd;
+            if (isDotAndDigit(version, pos)) {
+                int microEnd = digitsEnd(version, pos + 1);
+                micro = parseNumber(version, pos + 1, microEnd);
+                pos = microEnd;
+            }
         }
 
+        SuffixedVersion suffixedVersion = parseQualifier(version, pos, major, minor, micro,
+                suffix);
+        if (!suffixedVersion.isSuffixed() && !DEFAULT_SUFFIX.equals(suffix)) {
+            suffixedVersion = parseQualifier(version, pos, major, minor, micro, DEFAULT_SUFFIX);
+        }
         return suffixedVersion;
     }
 
-    private SuffixedVersion parseVersion(Matcher versionMatcher, String version, String parseSuffix)
-            throws NumberFormatException, IllegalArgumentException {
-        if (!versionMatcher.matches()) {
-            throw new IllegalArgumentException("Version " + version + "is unparsable");
+    /**
+     * Parses the rest of the version after major.minor.micro. The qualifier is optional and may
+     * start with a separator, it is as short as possible, so the suffix is used whenever the
+     * version ends with it.
+     */
+    private static SuffixedVersion parseQualifier(String version, int pos, int major, int minor,
+            int micro, String parseSuffix) {
+        int length = version.length();
+        if (pos == length) {
+            return new SuffixedVersion(major, minor, micro, "", version);
         }
-        String majorString = versionMatcher.group("major");
-        String minorString = versionMatcher.group("minor");
-        String microString = versionMatcher.group("micro");
-        String qualifierString = versionMatcher.group("qualifier");
-        String suffixVersionString = versionMatcher.group("suffixversion");
-
-        int major = parseNumberString(majorString);
-        int minor = parseNumberString(minorString);
-        int micro = parseNumberString(microString);
-        String qualifier = qualifierString == null ? "" : qualifierString;
-        if (suffixVersionString == null) {
-            return new SuffixedVersion(major, minor, micro, qualifier, version);
-        } else {
-            int suffixVersion = Integer.parseInt(suffixVersionString);
+
+        int suffixStart = findSuffix(version, parseSuffix);
+        int qualifierStart = pos;
+        if (isSeparator(version.charAt(pos)) && pos + 1 < length) {
+            qualifierStart = pos + 1;
+        }
+        if (suffixStart == pos || suffixStart > qualifierStart) {
+            String qualifier = suffixStart == pos ? "" : version.substring(qualifierStart,
+                    suffixStart);
+            int suffixVersion = parseNumber(version,
+                    suffixStart + parseSuffix.length() + 2, length);
             return new SuffixedVersion(major, minor, micro, qualifier, parseSuffix, suffixVersion,
                     version);
         }
+        return new SuffixedVersion(major, minor, micro, version.substring(qualifierStart),
+                version);
+    }
+
+    /**
+     * Returns index of the separator preceding the suffix, when the version ends with
+     * [.-]suffix-X, otherwise -1.
+     */
+    private static int findSuffix(String version, String parseSuffix) {
+        int length = version.length();
+        int digitsStart = length;
+        while (digitsStart > 0 && isDigit(version.charAt(digitsStart - 1))) {
+            digitsStart--;
+        }
+        int digits = length - digitsStart;
+        int separator = digitsStart - parseSuffix.length() - 2;
+        if (digits == 0 || digits > MAX_DIGITS || separator < 0) {
+            return -1;
+        }
+        if (version.charAt(digitsStart - 1) != '-'
+                || !version.startsWith(parseSuffix, separator + 1)
+                || !isSeparator(version.charAt(separator))) {
+            return -1;
+        }
+        return separator;
+    }
+
+    private static boolean isDotAndDigit(String version, int pos) {
+        return pos + 1 < version.length() && version.charAt(pos) == '.'
+                && isDigit(version.charAt(pos + 1));
+    }
+
+    private static int digitsEnd(String version, int pos) {
+        int end = pos;
+        int limit = Math.min(version.length(), pos + MAX_DIGITS);
+        while (end < limit && isDigit(version.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int parseNumber(String version, int start, int end) {
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            number = number * 10 + (version.charAt(i) - '0');
+        }
+        return number;
     }
 
-    private int parseNumberString(String segmentString) {
-        return segmentString == null ? 0 : Integer.parseInt(segmentString);
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-';
+    }
+
+    /**
+     * Characters not allowed in a version, the same as are not matched by '.' in a regular
+     * expression.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 
     /**
@@ -0,0 +1,61 @@
+package org.jboss.da.common.version;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The original regular expression based version parser, used as a reference for
+ * {@link VersionParser}.
+ */
+class RegexVersionParser {
+
+    private static final String RE_SUFFIX_S = "([.-]";
+
+    private static final String RE_SUFFIX_E = "-(?<suffixversion>[0-9]{1,9}))?";
+
+    private final String suffix;
+
+    private final Pattern defaultPattern = Pattern.compile("^" + VersionParser.RE_MMM
+            + VersionParser.RE_QUALIFIER + "??" + RE_SUFFIX_S + VersionParser.DEFAULT_SUFFIX
+            + RE_SUFFIX_E + "$");
+
+    private final Pattern versionPattern;
+
+    RegexVersionParser(String suffix) {
+        this.suffix = suffix;
+        this.versionPattern = Pattern.compile("^" + VersionParser.RE_MMM
+                + VersionParser.RE_QUALIFIER + "??" + RE_SUFFIX_S + suffix + RE_SUFFIX_E + "$");
+    }
+
+    SuffixedVersion parse(String version) {
+        SuffixedVersion suffixedVersion = parseVersion(versionPattern.matcher(version), version,
+                suffix);
+        if (!suffixedVersion.isSuffixed()) {
+            suffixedVersion = parseVersion(defaultPattern.matcher(version), version,
+                    VersionParser.DEFAULT_SUFFIX);
+        }
+        return suffixedVersion;
+    }
+
+    private SuffixedVersion parseVersion(Matcher versionMatcher, String version,
+            String parseSuffix) {
+        if (!versionMatcher.matches()) {
+            throw new IllegalArgumentException("Version " + version + "is unparsable");
+        }
+        int major = parseNumberString(versionMatcher.group("major"));
+        int minor = parseNumberString(versionMatcher.group("minor"));
+        int micro = parseNumberString(versionMatcher.group("micro"));
+        String qualifierString = versionMatcher.group("qualifier");
+        String qualifier = qualifierString == null ? "" : qualifierString;
+        String suffixVersionString = versionMatcher.group("suffixversion");
+        if (suffixVersionString == null) {
+            return new SuffixedVersion(major, minor, micro, qualifier, version);
+        }
+        return new SuffixedVersion(major, minor, micro, qualifier, parseSuffix,
+                Integer.parseInt(suffixVersionString), version);
+    }
+
+    private int parseNumberString(String segmentString) {
+        return segmentString == null ? 0 : Integer.parseInt(segmentString);
+    }
+}
@@ -0,0 +1,64 @@
+package org.jboss.da.common.version;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing of a single version by the original regular expression based parser and by
+ * the scanning {@link VersionParser}. Run the main method from the test classpath to execute the
+ * benchmark, the GC profiler reports the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionParserBenchmark {
+
+    @Param({ VersionParser.DEFAULT_SUFFIX, "t20180522-115319-991-redhat" })
+    private String suffix;
+
+    private String version;
+
+    private RegexVersionParser regexParser;
+
+    private VersionParser parser;
+
+    @Setup
+    public void setup() {
+        version = "1.7.21.Final-" + suffix + "-3";
+        regexParser = new RegexVersionParser(suffix);
+        parser = VersionParser.getParser(suffix);
+    }
+
+    @Benchmark
+    public SuffixedVersion regexParser() {
+        return regexParser.parse(version);
+    }
+
+    @Benchmark
+    public SuffixedVersion scanningParser() {
+        return parser.parse(version);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VersionParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
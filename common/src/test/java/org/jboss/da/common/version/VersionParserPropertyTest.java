@@ -0,0 +1,96 @@
+package org.jboss.da.common.version;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+/**
+ * Compares {@link VersionParser} with the original regular expression based parser on randomly
+ * generated versions.
+ */
+public class VersionParserPropertyTest {
+
+    private static final int ITERATIONS = 50000;
+
+    private static final String[] SUFFIXES = { VersionParser.DEFAULT_SUFFIX, "temporary-redhat",
+            "t20180522-115319-991-redhat", "" };
+
+    private static final String[] TOKENS = { ".", "-", "0", "1", "7", "21", "001", "123456789",
+            "1234567890", "Final", "CR4", "final", "redhat", "temporary", "temporary-redhat",
+            "t20180522-115319-991-redhat", "patch", "a", "_", " ", "\n", " " };
+
+    @Test
+    public void testSameAsRegexParser() {
+        Random random = new Random(42);
+        for (String suffix : SUFFIXES) {
+            VersionParser parser = new VersionParser(suffix);
+            RegexVersionParser reference = new RegexVersionParser(suffix);
+            for (int i = 0; i < ITERATIONS; i++) {
+                assertSameResult(suffix, randomVersion(random), parser, reference);
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsRegexParserOnSuffixedVersions() {
+        Random random = new Random(7);
+        for (String suffix : SUFFIXES) {
+            VersionParser parser = new VersionParser(suffix);
+            RegexVersionParser reference = new RegexVersionParser(suffix);
+            for (int i = 0; i < ITERATIONS; i++) {
+                String version = randomVersion(random) + (random.nextBoolean() ? '.' : '-')
+                        + (random.nextBoolean() ? suffix : VersionParser.DEFAULT_SUFFIX) + '-'
+                        + randomDigits(random);
+                assertSameResult(suffix, version, parser, reference);
+            }
+        }
+    }
+
+    private static void assertSameResult(String suffix, String version, VersionParser parser,
+            RegexVersionParser reference) {
+        SuffixedVersion expected;
+        try {
+            expected = reference.parse(version);
+        } catch (IllegalArgumentException ex) {
+            try {
+                parser.parse(version);
+                fail("Version '" + version + "' with suffix '" + suffix + "' should be unparsable");
+            } catch (IllegalArgumentException expectedEx) {
+                // same as the reference
+            }
+            return;
+        }
+        String message = "Version '" + version + "' with suffix '" + suffix + "'";
+        SuffixedVersion actual = parser.parse(version);
+        assertEquals(message, expected, actual);
+        assertEquals(message, expected.getQualifier(), actual.getQualifier());
+        assertEquals(message, expected.getSuffix(), actual.getSuffix());
+        assertEquals(message, expected.getSuffixVersion(), actual.getSuffixVersion());
+        assertEquals(message, expected.getOriginalVersion(), actual.getOriginalVersion());
+    }
+
+    private static String randomVersion(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int tokens = random.nextInt(8);
+        for (int i = 0; i < tokens; i++) {
+            if (random.nextInt(4) == 0) {
+                sb.append((char) (' ' + random.nextInt(95)));
+            } else {
+                sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String randomDigits(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int digits = 1 + random.nextInt(11);
+        for (int i = 0; i < digits; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+}
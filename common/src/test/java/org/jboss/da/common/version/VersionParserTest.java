@@ -3,6 +3,7 @@ package org.jboss.da.common.version;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
@@ -72,4 +73,17 @@ public class VersionParserTest {
         assertTrue(filtered.contains("1.7.21.t20180425-112559-465-redhat-1"));
         assertFalse(filtered.contains("1.5.8-patch-01"));
     }
+
+    @Test
+    public void testSharedParser() {
+        VersionParser vp = VersionParser.getParser("temporary-redhat");
+        assertSame(vp, VersionParser.getParser("temporary-redhat"));
+
+        SuffixedVersion temporary = vp.parse("1.7.21.temporary-redhat-1");
+        assertEquals("temporary-redhat", temporary.getSuffix().get());
+        assertEquals(1, temporary.getSuffixVersion().get().intValue());
+        assertEquals("redhat", vp.parse("1.6.4.redhat-2").getSuffix().get());
+        assertEquals("redhat", VersionParser.getParser(VersionParser.DEFAULT_SUFFIX)
+                .parse("1.6.4.redhat-2").getSuffix().get());
+    }
 }
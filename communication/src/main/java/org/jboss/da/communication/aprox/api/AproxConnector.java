@@ -3,6 +3,7 @@ package org.jboss.da.communication.aprox.api;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.jboss.da.communication.pom.model.MavenProject;
 import org.jboss.da.communication.repository.api.RepositoryException;
@@ -32,6 +33,29 @@ public interface AproxConnector {
      */
     List<String> getVersionsOfGA(GA ga, String repository) throws RepositoryException;
 
+    /**
+     * Finds available versions of specific groupId artifactId without blocking the calling
+     * thread. If the provided groupId artifactId is not found in repository, the future
+     * completes with empty list.
+     *
+     * @param ga
+     * @return future list of versions for given groupId artifactId in repository. Completes
+     * exceptionally with {@link RepositoryException} when there is problem with communication.
+     */
+    CompletableFuture<List<String>> getVersionsOfGAAsync(GA ga);
+
+    /**
+     * Finds available versions of specific groupId artifactId without blocking the calling
+     * thread. If the provided groupId artifactId is not found in repository, the future
+     * completes with empty list.
+     *
+     * @param ga
+     * @param repository Search versions in provided repository instead of default one.
+     * @return future list of versions for given groupId artifactId in repository. Completes
+     * exceptionally with {@link RepositoryException} when there is problem with communication.
+     */
+    CompletableFuture<List<String>> getVersionsOfGAAsync(GA ga, String repository);
+
     /**
      * Finds available versions of specific npm package.
      * If the provided package name is not found in repository, returns empty list.
@@ -53,6 +77,37 @@ public interface AproxConnector {
      */
     List<String> getVersionsOfNpm(String packageName, String repository) throws RepositoryException;
 
+    /**
+     * Finds available versions of specific npm package without blocking the calling thread.
+     * If the provided package name is not found in repository, the future completes with empty
+     * list.
+     *
+     * @param packageName Name of the npm package
+     * @return future list of versions for package in repository. Completes exceptionally with
+     * {@link RepositoryException} when there is problem with communication.
+     */
+    CompletableFuture<List<String>> getVersionsOfNpmAsync(String packageName);
+
+    /**
+     * Finds available versions of specific npm package without blocking the calling thread.
+     * If the provided package name is not found in repository, the future completes with empty
+     * list.
+     *
+     * @param packageName Name of the npm package
+     * @param repository Search versions in provided repository instead of default one.
+     * @return future list of versions for package in repository. Completes exceptionally with
+     * {@link RepositoryException} when there is problem with communication.
+     */
+    CompletableFuture<List<String>> getVersionsOfNpmAsync(String packageName, String repository);
+
+    /**
+     * Forgets that the metadata of given groupId artifactId were not found in any repository
+     * group, so that the next query for its versions goes to the repository.
+     *
+     * @param ga groupId artifactId that may be now available.
+     */
+    void invalidateNotFound(GA ga);
+
     Optional<MavenProject> getPom(GAV gav) throws RepositoryException;
 
     Optional<InputStream> getPomStream(GAV gav) throws RepositoryException;
@@ -0,0 +1,221 @@
+package org.jboss.da.communication.aprox.impl;
+
+import org.jboss.da.communication.repository.api.RepositoryException;
+import org.jboss.da.communication.repository.api.RequestRejectedException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of concurrent requests of one type (bulkhead). The limit is adjusted using
+ * AIMD: it grows by one per limit-many requests that finished successfully under the latency
+ * threshold, and it is multiplied by {@value #DECREASE_FACTOR} when a request fails or is slower.
+ * Requests over the limit wait in a bounded queue, or are rejected right away in fast-fail mode.
+ */
+class AdaptiveLimiter {
+
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThreshold;
+
+    private final int maxQueueSize;
+
+    private final boolean fastFail;
+
+    private final Deque<CompletableFuture<Permit>> queue = new ArrayDeque<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private double limit;
+
+    private int inFlight;
+
+    /**
+     * @param name Name of the request type, used in messages.
+     * @param initialLimit Initial number of concurrent requests.
+     * @param minLimit Minimal number of concurrent requests.
+     * @param maxLimit Maximal number of concurrent requests.
+     * @param latencyThreshold Latency in milliseconds above which the limit is decreased.
+     * @param maxQueueSize Maximal number of requests waiting for the limit.
+     * @param fastFail Whether requests over the limit are rejected instead of queued.
+     */
+    AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+            long latencyThreshold, int maxQueueSize, boolean fastFail) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThreshold = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
+        this.maxQueueSize = maxQueueSize;
+        this.fastFail = fastFail;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Acquires permit to send a request. The returned future is completed once the request may
+     * be sent, or it fails with {@link RequestRejectedException} when the request can't be
+     * sent. The permit must be released after the request finishes.
+     */
+    CompletableFuture<Permit> acquire() {
+        synchronized (this) {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            if (!fastFail && queue.size() < maxQueueSize) {
+                CompletableFuture<Permit> waiting = new CompletableFuture<>();
+                queue.addLast(waiting);
+                return waiting;
+            }
+        }
+        rejected.incrementAndGet();
+        CompletableFuture<Permit> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RequestRejectedException("Too many concurrent " + name
+                + " requests to the repository"));
+        return failed;
+    }
+
+    /**
+     * Acquires permit to send a request, blocking while the request is queued. The permit must be
+     * released after the request finishes.
+     *
+     * @param timeout Maximal time to wait in the queue.
+     * @param unit Unit of the timeout.
+     * @return The permit.
+     * @throws RequestRejectedException When the request can't be sent or the time elapses.
+     * @throws RepositoryException When the thread is interrupted while waiting.
+     */
+    Permit acquire(long timeout, TimeUnit unit) throws RepositoryException {
+        CompletableFuture<Permit> acquired = acquire();
+        try {
+            return acquired.get(timeout, unit);
+        } catch (TimeoutException ex) {
+            if (dequeue(acquired)) {
+                throw new RequestRejectedException("Timed out waiting for free slot for " + name
+                        + " request to the repository");
+            }
+            // the permit was granted meanwhile
+            return acquired.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (!dequeue(acquired)) {
+                acquired.join().cancel();
+            }
+            throw new RepositoryException("Interrupted while waiting for free slot for " + name
+                    + " request to the repository", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RepositoryException) {
+                throw (RepositoryException) ex.getCause();
+            }
+            throw new RepositoryException(ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    /**
+     * Removes the waiting request from the queue, returns false when it was already granted.
+     */
+    private synchronized boolean dequeue(CompletableFuture<Permit> waiting) {
+        return queue.remove(waiting);
+    }
+
+    /**
+     * Acquires permit only when it is available right away, the request is never queued nor
+     * counted as rejected.
+     */
+    synchronized Optional<Permit> tryAcquire() {
+        if (inFlight < (int) limit) {
+            inFlight++;
+            return Optional.of(new Permit());
+        }
+        return Optional.empty();
+    }
+
+    private void release(long latency, boolean success) {
+        synchronized (this) {
+            if (success && latency <= latencyThreshold) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            } else {
+                limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+            }
+        }
+        releaseUnused();
+    }
+
+    private void releaseUnused() {
+        List<CompletableFuture<Permit>> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                inFlight++;
+                granted.add(queue.pollFirst());
+            }
+        }
+        // complete outside of the lock, the waiting requests continue in this thread
+        for (CompletableFuture<Permit> waiting : granted) {
+            if (!waiting.complete(new Permit())) {
+                // the waiting request was cancelled
+                releaseUnused();
+            }
+        }
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Permit to send one request.
+     */
+    class Permit {
+
+        private final long start = System.nanoTime();
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Releases the permit. Calling it more than once has no effect.
+         *
+         * @param success Whether the request finished successfully.
+         */
+        void release(boolean success) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveLimiter.this.release(System.nanoTime() - start, success);
+            }
+        }
+
+        /**
+         * Releases the permit which was not used to send any request, the limit is not adjusted.
+         */
+        void cancel() {
+            if (released.compareAndSet(false, true)) {
+                releaseUnused();
+            }
+        }
+    }
+}
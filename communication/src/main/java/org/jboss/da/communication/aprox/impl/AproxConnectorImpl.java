@@ -1,42 +1,81 @@
 package org.jboss.da.communication.aprox.impl;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SlidingWindowReservoir;
 import com.codahale.metrics.Timer;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.util.EntityUtils;
 import org.jboss.da.common.CommunicationException;
 import org.jboss.da.common.json.DAConfig;
 import org.jboss.da.common.util.Configuration;
 import org.jboss.da.common.util.ConfigurationParseException;
 import org.jboss.da.communication.aprox.api.AproxConnector;
-import org.jboss.da.communication.aprox.model.VersionResponse;
 import org.jboss.da.communication.pom.api.PomAnalyzer;
 import org.jboss.da.communication.pom.model.MavenProject;
+import org.jboss.da.communication.repository.api.CircuitOpenException;
 import org.jboss.da.communication.repository.api.RepositoryException;
 import org.jboss.da.metrics.MetricsConfiguration;
 import org.jboss.da.model.rest.GA;
 import org.jboss.da.model.rest.GAV;
 import org.slf4j.Logger;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
-import javax.xml.bind.JAXBException;
 
-import java.io.FileNotFoundException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLConnection;
-import java.util.ArrayList;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 @ApplicationScoped
 public class AproxConnectorImpl implements AproxConnector {
 
     private static final String METRICS_KEY = "da.client.indy.timer";
 
+    private static final String COALESCED_METRICS_KEY = "da.client.indy.coalesced";
+
+    private static final String LIMITER_METRICS_KEY = "da.client.indy.limiter";
+
+    private static final String CIRCUIT_METRICS_KEY = "da.client.indy.circuit";
+
+    private static final String HEDGED_METRICS_KEY = "da.client.indy.hedged";
+
+    /**
+     * Number of observed latencies needed before hedged requests are sent.
+     */
+    private static final int HEDGING_MIN_SAMPLES = 20;
+
+    /**
+     * Prefer the abbreviated npm metadata, which contains only data needed for installation.
+     */
+    private static final String NPM_ACCEPT = "application/vnd.npm.install-v1+json; q=1.0, "
+            + "application/json; q=0.8, */*";
+
     @Inject
     private Logger log;
 
@@ -51,6 +90,32 @@ public class AproxConnectorImpl implements AproxConnector {
     @Inject
     private MetricsConfiguration metricsConfiguration;
 
+    @Inject
+    private AproxHttpClient httpClient;
+
+    /**
+     * Runs the processing of responses, so that it and everything chained after it runs in the
+     * managed context instead of the I/O dispatcher thread.
+     */
+    @Resource
+    private ManagedExecutorService executor;
+
+    private final VersionsCache versionsCache;
+
+    private final VersionsCache notFoundCache;
+
+    private final ExistenceCache existenceCache;
+
+    private final RequestCoalescer<String, List<String>> inFlightRequests = new RequestCoalescer<>();
+
+    private final Bulkhead mavenBulkhead;
+
+    private final Bulkhead npmBulkhead;
+
+    private final Bulkhead pomBulkhead;
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
     @Inject
     public AproxConnectorImpl(Configuration configuration) {
         try {
@@ -59,72 +124,260 @@ public class AproxConnectorImpl implements AproxConnector {
             throw new IllegalStateException(
                     "Configuration failure, can't parse default repository group", ex);
         }
+        this.versionsCache = new VersionsCache(config.getAproxMetadataCacheTtl(),
+                config.getAproxMetadataCacheSize());
+        this.notFoundCache = new VersionsCache(config.getAproxNotFoundCacheTtl(),
+                config.getAproxNotFoundCacheSize());
+        this.existenceCache = new ExistenceCache(config.getAproxMissingArtifactCacheTtl(),
+                config.getAproxExistenceCacheSize());
+        this.mavenBulkhead = createBulkhead("maven metadata");
+        this.npmBulkhead = createBulkhead("npm metadata");
+        this.pomBulkhead = createBulkhead("pom");
+    }
+
+    private Bulkhead createBulkhead(String name) {
+        return new Bulkhead(new AdaptiveLimiter(name, config.getAproxLimiterInitialLimit(),
+                config.getAproxLimiterMinLimit(), config.getAproxLimiterMaxLimit(),
+                config.getAproxLimiterLatencyThreshold(), config.getAproxLimiterQueueSize(),
+                config.getAproxLimiterFastFail()));
+    }
+
+    private CircuitBreaker circuitBreaker(String repository) {
+        return circuitBreakers.computeIfAbsent(repository, r -> {
+            CircuitBreaker breaker = new CircuitBreaker(r, config.getAproxCircuitWindowSize(),
+                    config.getAproxCircuitFailureRateThreshold(),
+                    config.getAproxCircuitSlowCallThreshold(),
+                    config.getAproxCircuitOpenDuration(), state -> onCircuitTransition(r, state));
+            MetricRegistry registry = metricsConfiguration.getMetricRegistry();
+            if (registry != null) {
+                registry.register(CIRCUIT_METRICS_KEY + "." + r + ".state",
+                        (Gauge<Integer>) () -> breaker.getState().ordinal());
+            }
+            return breaker;
+        });
+    }
+
+    private void onCircuitTransition(String repository, CircuitBreaker.State state) {
+        log.warn("Circuit breaker for repository group {} is now {}", repository, state);
+        MetricRegistry registry = metricsConfiguration.getMetricRegistry();
+        if (registry != null) {
+            registry.counter(
+                    CIRCUIT_METRICS_KEY + "." + repository + "." + state.name().toLowerCase())
+                    .inc();
+        }
+    }
+
+    private CircuitBreaker.Permit acquireCircuit(String repository) throws CircuitOpenException {
+        return circuitBreaker(repository).tryAcquire().orElseThrow(() -> new CircuitOpenException(
+                "Circuit breaker for repository group " + repository
+                        + " is open, repository is failing or responding too slowly"));
+    }
+
+    @PostConstruct
+    private void registerMetrics() {
+        MetricRegistry registry = metricsConfiguration.getMetricRegistry();
+        if (registry == null) {
+            return;
+        }
+        registerLimiterMetrics(registry, "maven", mavenBulkhead.limiter);
+        registerLimiterMetrics(registry, "npm", npmBulkhead.limiter);
+        registerLimiterMetrics(registry, "pom", pomBulkhead.limiter);
+    }
+
+    private static void registerLimiterMetrics(MetricRegistry registry, String name,
+            AdaptiveLimiter limiter) {
+        String prefix = LIMITER_METRICS_KEY + "." + name;
+        registry.register(prefix + ".limit", (Gauge<Integer>) limiter::getLimit);
+        registry.register(prefix + ".inflight", (Gauge<Integer>) limiter::getInFlight);
+        registry.register(prefix + ".queue", (Gauge<Integer>) limiter::getQueueSize);
+        registry.register(prefix + ".rejected", (Gauge<Long>) limiter::getRejected);
     }
 
     @Override
     public List<String> getVersionsOfGA(GA ga) throws RepositoryException {
-        return this.getVersionsOfGA(ga, config.getAproxGroup());
+        return await(getVersionsOfGAAsync(ga));
     }
 
     @Override
     public List<String> getVersionsOfGA(GA ga, String repository) throws RepositoryException {
+        return await(getVersionsOfGAAsync(ga, repository));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getVersionsOfGAAsync(GA ga) {
+        return this.getVersionsOfGAAsync(ga, config.getAproxGroup());
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getVersionsOfGAAsync(GA ga, String repository) {
         String query = repositoryLink("maven", repository, ga.getGroupId().replace(".", "/") + "/"
                 + ga.getArtifactId());
 
         MetricRegistry registry = metricsConfiguration.getMetricRegistry();
-        Timer.Context context = null;
-
-        if (registry != null) {
-            Timer timer = registry.timer(METRICS_KEY);
-            context = timer.time();
-        }
-
-        try {
-            log.info("Retrieving maven metadata for " + ga + " from " + query);
-            HttpURLConnection connection = getResponse(query);
-
-            final List<String> versions = parseMetadataFile(connection).getVersioning()
-                    .getVersions().getVersion();
-            log.debug("Maven metadata for {} found. Response: {}. Versions: {}", ga,
-                    connection.getResponseCode(), versions);
-            return versions;
-        } catch (FileNotFoundException ex) {
-            log.debug("Maven metadata for {} not found. Assuming empty version list.", ga);
-            return Collections.emptyList();
-        } catch (IOException | CommunicationException e) {
-            throw new RepositoryException("Failed to obtain versions for " + ga
-                    + " from repository on url " + query, e);
-        } finally {
-            if (context != null) {
-                context.stop();
-            }
+        Timer.Context context = registry == null ? null : registry.timer(METRICS_KEY).time();
+
+        CompletableFuture<List<String>> versions = wrapFailure(
+                getVersions(query, null, "Maven", ga.toString(), repository, mavenBulkhead,
+                        MetadataFileParser::parseMavenMetadataVersions),
+                "Failed to obtain versions for " + ga + " from repository on url " + query);
+        if (context != null) {
+            versions.whenComplete((v, ex) -> context.stop());
         }
+        return versions;
     }
 
     @Override
     public List<String> getVersionsOfNpm(String packageName) throws RepositoryException {
-        return this.getVersionsOfNpm(packageName, config.getAproxGroup());
+        return await(getVersionsOfNpmAsync(packageName));
     }
 
     @Override
     public List<String> getVersionsOfNpm(String packageName, String repository)
             throws RepositoryException {
+        return await(getVersionsOfNpmAsync(packageName, repository));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getVersionsOfNpmAsync(String packageName) {
+        return this.getVersionsOfNpmAsync(packageName, config.getAproxGroup());
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getVersionsOfNpmAsync(String packageName,
+            String repository) {
         String query = repositoryLink("npm", repository, packageName);
+        return wrapFailure(
+                getVersions(query, NPM_ACCEPT, "Npm", packageName, repository, npmBulkhead,
+                        parser::parseNpmMetadataVersions),
+                "Failed to obtain versions for " + packageName + " from repository on url "
+                        + query);
+    }
+
+    /**
+     * Returns versions from the metadata on given url. Fresh cached versions are returned
+     * without contacting Indy, stale ones are revalidated with conditional request so that
+     * unchanged metadata doesn't have to be downloaded and parsed again. Concurrent requests
+     * for the same metadata are coalesced into single request to Indy.
+     */
+    private CompletableFuture<List<String>> getVersions(String query, String accept, String type,
+            String name, String repository, Bulkhead bulkhead, VersionsExtractor extractor) {
+        VersionsCache.Entry cached = versionsCache.get(query);
+        if (cached != null && cached.isFresh()) {
+            log.debug("{} metadata for {} found in cache. Versions: {}", type, name,
+                    cached.getVersions());
+            return CompletableFuture.completedFuture(cached.getVersions());
+        }
+        VersionsCache.Entry notFound = notFoundCache.get(query);
+        if (notFound != null && notFound.isFresh()) {
+            log.debug("{} metadata for {} recently not found. Assuming empty version list.",
+                    type, name);
+            return CompletableFuture.completedFuture(notFound.getVersions());
+        }
+
+        return inFlightRequests.execute(query, () -> fetchVersions(query, accept, type, name,
+                repository, bulkhead, extractor, cached), this::markCoalesced);
+    }
+
+    private CompletableFuture<List<String>> fetchVersions(String query, String accept,
+            String type, String name, String repository, Bulkhead bulkhead,
+            VersionsExtractor extractor, VersionsCache.Entry cached) {
+        Supplier<HttpUriRequest> request = () -> {
+            HttpGet get = new HttpGet(query);
+            if (accept != null) {
+                get.setHeader(HttpHeaders.ACCEPT, accept);
+            }
+            if (cached != null) {
+                if (cached.getETag() != null) {
+                    get.setHeader(HttpHeaders.IF_NONE_MATCH, cached.getETag());
+                }
+                if (cached.getLastModified() != null) {
+                    get.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+                }
+            }
+            return get;
+        };
+
+        CircuitBreaker.Permit circuit;
         try {
-            log.info("Retrieving npm metadata for " + packageName + " from " + query);
-            HttpURLConnection connection = getResponse(query);
-
-            final Set<String> versions = parser.parseNpmMetadata(connection).getVersions().keySet();
-            log.debug("Npm metadata for {} found. Response: {}. Versions: {}", packageName,
-                    connection.getResponseCode(), versions);
-            return new ArrayList(versions);
-        } catch (FileNotFoundException ex) {
-            log.debug("Npm metadata for {} not found. Assuming empty version list.", packageName);
-            return Collections.emptyList();
-        } catch (IOException e) {
-            throw new RepositoryException("Failed to obtain versions for " + packageName
-                    + " from repository on url " + query, e);
+            circuit = acquireCircuit(repository);
+        } catch (CircuitOpenException ex) {
+            CompletableFuture<List<String>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(ex);
+            return failed;
+        }
+
+        // parse the response outside of the I/O dispatcher thread
+        return bulkhead.limiter.acquire().whenComplete((permit, ex) -> {
+            if (ex != null) {
+                circuit.onCancel();
+            }
+        }).thenCompose(permit -> {
+            log.info("Retrieving " + type.toLowerCase() + " metadata for " + name + " from "
+                    + query);
+            long start = System.nanoTime();
+            CompletableFuture<HttpResponse> sent;
+            try {
+                sent = getResponseHedged(request, bulkhead);
+            } catch (RuntimeException ex) {
+                // the request was not sent at all, e.g. the url is invalid or the client closed
+                permit.release(false);
+                circuit.onCancel();
+                throw ex;
+            }
+            return sent.whenComplete((response, ex) -> {
+                long latency = System.nanoTime() - start;
+                boolean success = ex == null && !isFailure(response);
+                permit.release(success);
+                circuit.onResult(success, latency);
+                if (success) {
+                    bulkhead.latency.update(latency);
+                }
+            });
+        }).thenApplyAsync(response -> {
+            try {
+                return processVersions(query, type, name, extractor, cached, response);
+            } catch (IOException | CommunicationException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private List<String> processVersions(String query, String type, String name,
+            VersionsExtractor extractor, VersionsCache.Entry cached, HttpResponse response)
+            throws IOException, CommunicationException {
+        int status = response.getStatusLine().getStatusCode();
+        if (status == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+            log.debug("{} metadata for {} not modified. Versions: {}", type, name,
+                    cached.getVersions());
+            return versionsCache.revalidated(query, cached).getVersions();
+        }
+        if (isNotFound(status)) {
+            versionsCache.invalidate(query);
+            log.debug("{} metadata for {} not found. Assuming empty version list.", type, name);
+            return notFoundCache.put(query, Collections.emptyList(), null, null).getVersions();
         }
+        checkSuccess(response, query);
+
+        final List<String> versions;
+        try (InputStream in = response.getEntity().getContent()) {
+            versions = extractor.extract(in);
+        }
+        log.debug("{} metadata for {} found. Response: {}. Versions: {}", type, name, status,
+                versions);
+        return versionsCache.put(query, versions, headerValue(response, HttpHeaders.ETAG),
+                headerValue(response, HttpHeaders.LAST_MODIFIED)).getVersions();
+    }
+
+    private void markCoalesced() {
+        MetricRegistry registry = metricsConfiguration.getMetricRegistry();
+        if (registry != null) {
+            registry.counter(COALESCED_METRICS_KEY).inc();
+        }
+    }
+
+    private static String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header == null ? null : header.getValue();
     }
 
     private String repositoryLink(String type, String repository, String path) {
@@ -149,103 +402,307 @@ public class AproxConnectorImpl implements AproxConnector {
         return query.toString();
     }
 
-    private HttpURLConnection getResponse(String query) throws IOException {
-        HttpURLConnection connection = (HttpURLConnection) new URL(query).openConnection();
-        connection.setConnectTimeout(config.getAproxRequestTimeout());
-        connection.setReadTimeout(config.getAproxRequestTimeout());
-        int retry = 0;
-        while ((connection.getResponseCode() == 504 || connection.getResponseCode() == 500)
-                && retry < 2) {
+    private CompletableFuture<HttpResponse> getResponse(Supplier<HttpUriRequest> request,
+            int retry) {
+        HttpUriRequest attempt = request.get();
+        return httpClient.executeAsync(attempt).thenCompose(response -> {
+            int status = response.getStatusLine().getStatusCode();
+            if (!isServerError(status) || retry >= 2) {
+                return CompletableFuture.completedFuture(response);
+            }
+            log.warn("Connection to: {} failed with status: {}. retrying...", attempt.getURI(),
+                    status);
+            EntityUtils.consumeQuietly(response.getEntity());
+
+            // Wait before retrying using Exponential back-off: 200ms, 400ms
+            long delay = (long) Math.pow(2, retry + 1) * 100L;
+            return httpClient.delay(delay).thenCompose(v -> getResponse(request, retry + 1));
+        });
+    }
 
-            log.warn("Connection to: {} failed with status: {}. retrying...", query,
-                    connection.getResponseCode());
+    /**
+     * Sends the request and, when hedging is enabled and the response doesn't arrive within the
+     * 95th percentile of recent latencies, sends it once more. The first successful response
+     * is used. The hedged request needs its own permit of the bulkhead, when none is free right
+     * away, the request is not hedged.
+     */
+    private CompletableFuture<HttpResponse> getResponseHedged(Supplier<HttpUriRequest> request,
+            Bulkhead bulkhead) {
+        CompletableFuture<HttpResponse> primary = getResponse(request, 0);
+        if (!config.getAproxHedgingEnabled()
+                || bulkhead.latency.getCount() < HEDGING_MIN_SAMPLES) {
+            return primary;
+        }
+        long hedgeDelay = TimeUnit.NANOSECONDS.toMillis((long) bulkhead.latency.getSnapshot()
+                .get95thPercentile());
+
+        CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<HttpResponse, Throwable> onResponse = (response, ex) -> {
+            if (ex == null && !isFailure(response)) {
+                result.complete(response);
+            } else if (pending.decrementAndGet() == 0) {
+                if (ex == null) {
+                    result.complete(response);
+                } else {
+                    result.completeExceptionally(ex);
+                }
+            }
+        };
+        primary.whenComplete(onResponse);
+        httpClient.delay(hedgeDelay).thenRun(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            Optional<AdaptiveLimiter.Permit> permit = bulkhead.limiter.tryAcquire();
+            if (!permit.isPresent()) {
+                return;
+            }
+            pending.incrementAndGet();
+            markHedged();
+            CompletableFuture<HttpResponse> hedged;
+            try {
+                hedged = getResponse(request, 0);
+            } catch (RuntimeException ex) {
+                permit.get().release(false);
+                onResponse.accept(null, ex);
+                return;
+            }
+            hedged.whenComplete((response, ex) -> {
+                permit.get().release(ex == null && !isFailure(response));
+                onResponse.accept(response, ex);
+            });
+        });
+        return result;
+    }
 
-            retry++;
+    private void markHedged() {
+        MetricRegistry registry = metricsConfiguration.getMetricRegistry();
+        if (registry != null) {
+            registry.counter(HEDGED_METRICS_KEY).inc();
+        }
+    }
 
-            try {
-                // Wait before retrying using Exponential back-off: 200ms, 400ms
-                Thread.sleep((long) Math.pow(2, retry) * 100L);
-            } catch (InterruptedException e) {
-                log.error(e.getMessage());
+    private static boolean isFailure(HttpResponse response) {
+        return response.getStatusLine().getStatusCode() >= 500;
+    }
+
+    /**
+     * Fails the future with {@link RepositoryException} with given message when the original
+     * future fails.
+     */
+    private static <T> CompletableFuture<T> wrapFailure(CompletableFuture<T> future,
+            String message) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, ex) -> {
+            if (ex == null) {
+                result.complete(value);
+            } else {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex
+                        .getCause() : ex;
+                result.completeExceptionally(new RepositoryException(message, cause));
             }
+        });
+        return result;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws RepositoryException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while waiting for repository", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RepositoryException) {
+                throw (RepositoryException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RepositoryException(cause.getMessage(), cause);
+        }
+    }
 
-            connection = (HttpURLConnection) new URL(query).openConnection();
-            connection.setConnectTimeout(config.getAproxRequestTimeout());
-            connection.setReadTimeout(config.getAproxRequestTimeout());
+    private static boolean isServerError(int status) {
+        return status == HttpStatus.SC_GATEWAY_TIMEOUT
+                || status == HttpStatus.SC_INTERNAL_SERVER_ERROR;
+    }
+
+    private static boolean isNotFound(int status) {
+        return status == HttpStatus.SC_NOT_FOUND || status == HttpStatus.SC_GONE;
+    }
+
+    private static void checkSuccess(HttpResponse response, String query)
+            throws IOException {
+        int status = response.getStatusLine().getStatusCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException("Server returned HTTP response code: " + status + " for URL: "
+                    + query);
         }
-        return connection;
+    }
+
+    @Override
+    public void invalidateNotFound(GA ga) {
+        String suffix = "/" + ga.getGroupId().replace(".", "/") + "/" + ga.getArtifactId()
+                + "/maven-metadata.xml";
+        String prefix = config.getAproxServer() + "/api/content/maven/group/";
+        notFoundCache.invalidateIf(key -> key.startsWith(prefix) && key.endsWith(suffix));
     }
 
     @Override
     public Optional<MavenProject> getPom(GAV gav) throws RepositoryException {
-        return getPomStream(gav).flatMap(pomAnalyzer::readPom);
+        Optional<InputStream> pomStream = getPomStream(gav);
+        if (!pomStream.isPresent()) {
+            return Optional.empty();
+        }
+        try (InputStream in = pomStream.get()) {
+            return pomAnalyzer.readPom(in);
+        } catch (IOException e) {
+            throw new RepositoryException("Failed to read pom for " + gav, e);
+        }
     }
 
     @Override
     public Optional<InputStream> getPomStream(GAV gav) throws RepositoryException {
-        StringBuilder query = new StringBuilder();
-        try {
-            query.append(config.getAproxServer());
-            query.append("/api/group/");
-            query.append(config.getAproxGroupPublic()).append('/');
-            query.append(gav.getGroupId().replace(".", "/")).append("/");
-            query.append(gav.getArtifactId()).append('/');
-            query.append(gav.getVersion()).append('/');
-            query.append(gav.getArtifactId()).append('-').append(gav.getVersion()).append(".pom");
-
-            URLConnection connection = new URL(query.toString()).openConnection();
-            return Optional.of(connection.getInputStream());
-        } catch (FileNotFoundException ex) {
-            return Optional.empty();
+        String query = pomLink(gav);
+        // created before the permits are acquired, so that invalid url can't leak them
+        HttpGet request = new HttpGet(query);
+        CircuitBreaker.Permit circuit = acquireCircuit(config.getAproxGroupPublic());
+        AdaptiveLimiter.Permit permit = acquirePermit(pomBulkhead, circuit);
+        boolean success = false;
+        try (CloseableHttpResponse response = execute(request, circuit)) {
+            int status = response.getStatusLine().getStatusCode();
+            if (isNotFound(status)) {
+                EntityUtils.consumeQuietly(response.getEntity());
+                success = true;
+                return Optional.empty();
+            }
+            checkSuccess(response, query);
+            // the pom is small, read it right away so that the permit is not held by the caller
+            byte[] pom = EntityUtils.toByteArray(response.getEntity());
+            success = true;
+            return Optional.of(new ByteArrayInputStream(pom));
         } catch (IOException e) {
             throw new RepositoryException("Failed to obtain pom for " + gav
                     + " from repository on url " + query, e);
+        } finally {
+            permit.release(success);
         }
     }
 
-    @Override
     /**
-     * Implementation note: dcheung tried to initially use HttpURLConnection
-     * and send a 'HEAD' request to the resource. Even though that worked,
-     * for some reason this completely makes Arquillian fail to deploy the testsuite.
-     * For that reason, dcheung switched to using a simple URL object instead with the
-     * try-catch logic.
-     *
-     * No dcheung doesn't usually talks about himself in the third person..
+     * Checks the existence with HEAD request, so that the pom doesn't have to be downloaded.
+     * Existing poms are remembered indefinitely as released artifacts don't change, missing
+     * ones only for a short time.
      */
+    @Override
     public boolean doesGAVExistInPublicRepo(GAV gav) throws RepositoryException {
-        StringBuilder query = new StringBuilder();
+        String query = pomLink(gav);
+        Boolean cached = existenceCache.exists(query);
+        if (cached != null) {
+            return cached;
+        }
 
-        try {
-            query.append(config.getAproxServer());
-            query.append("/api/group/");
-            query.append(config.getAproxGroupPublic()).append('/');
-            query.append(gav.getGroupId().replace(".", "/")).append("/");
-            query.append(gav.getArtifactId()).append('/');
-            query.append(gav.getVersion()).append('/');
-            query.append(gav.getArtifactId()).append("-").append(gav.getVersion()).append(".pom");
-
-            URLConnection connection = new URL(query.toString()).openConnection();
-            try {
-                connection.getInputStream().close();
-                // if we've reached here, then it means the pom exists
-                return true;
-            } catch (FileNotFoundException e) {
+        // created before the permits are acquired, so that invalid url can't leak them
+        HttpHead request = new HttpHead(query);
+        CircuitBreaker.Permit circuit = acquireCircuit(config.getAproxGroupPublic());
+        AdaptiveLimiter.Permit permit = acquirePermit(pomBulkhead, circuit);
+        boolean success = false;
+        try (CloseableHttpResponse response = execute(request, circuit)) {
+            int status = response.getStatusLine().getStatusCode();
+            EntityUtils.consumeQuietly(response.getEntity());
+            if (isNotFound(status)) {
                 // if we've reached here, the resource is not available
+                success = true;
+                existenceCache.put(query, false);
                 return false;
             }
+            checkSuccess(response, query);
+            // if we've reached here, then it means the pom exists
+            success = true;
+            existenceCache.put(query, true);
+            return true;
         } catch (IOException e) {
             throw new RepositoryException("Failed to check existence of pom for " + gav
                     + " in repository on url " + query, e);
+        } finally {
+            permit.release(success);
         }
     }
 
-    private VersionResponse parseMetadataFile(URLConnection connection) throws IOException,
-            CommunicationException {
-        try (InputStream in = connection.getInputStream()) {
-            return MetadataFileParser.parseMavenMetadata(in);
-        } catch (JAXBException e) {
-            throw new RepositoryException("Failed to parse metadata file", e);
+    private AdaptiveLimiter.Permit acquirePermit(Bulkhead bulkhead, CircuitBreaker.Permit circuit)
+            throws RepositoryException {
+        try {
+            return bulkhead.limiter.acquire(config.getAproxLimiterQueueTimeout(),
+                    TimeUnit.MILLISECONDS);
+        } catch (RepositoryException | RuntimeException ex) {
+            circuit.onCancel();
+            throw ex;
         }
     }
+
+    /**
+     * Executes blocking request and reports its outcome to the circuit breaker.
+     */
+    private CloseableHttpResponse execute(HttpUriRequest request, CircuitBreaker.Permit circuit)
+            throws IOException {
+        long start = System.nanoTime();
+        CloseableHttpResponse response;
+        try {
+            response = httpClient.execute(request);
+        } catch (IOException | RuntimeException ex) {
+            circuit.onResult(false, System.nanoTime() - start);
+            throw ex;
+        }
+        circuit.onResult(!isFailure(response), System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Creates link to the pom. The coordinates are percent-encoded, because the version may
+     * contain characters not allowed in URI, like unresolved property or space.
+     */
+    private String pomLink(GAV gav) {
+        StringBuilder query = new StringBuilder();
+        query.append(config.getAproxServer());
+        query.append("/api/group/");
+        query.append(config.getAproxGroupPublic()).append('/');
+        for (String part : gav.getGroupId().split("\\.")) {
+            query.append(encodePathSegment(part)).append('/');
+        }
+        query.append(encodePathSegment(gav.getArtifactId())).append('/');
+        query.append(encodePathSegment(gav.getVersion())).append('/');
+        query.append(encodePathSegment(gav.getArtifactId() + '-' + gav.getVersion() + ".pom"));
+        return query.toString();
+    }
+
+    private static String encodePathSegment(String segment) {
+        try {
+            // URLEncoder encodes for query, where space is encoded as plus
+            return URLEncoder.encode(segment, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException("UTF-8 is not supported", ex);
+        }
+    }
+
+    /**
+     * Concurrency limit and observed latencies of one type of requests.
+     */
+    private static final class Bulkhead {
+
+        private final AdaptiveLimiter limiter;
+
+        private final Histogram latency = new Histogram(new SlidingWindowReservoir(100));
+
+        private Bulkhead(AdaptiveLimiter limiter) {
+            this.limiter = limiter;
+        }
+    }
+
+    @FunctionalInterface
+    private interface VersionsExtractor {
+
+        List<String> extract(InputStream in) throws IOException, CommunicationException;
+    }
 }
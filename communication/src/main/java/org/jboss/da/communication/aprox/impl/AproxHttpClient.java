@@ -0,0 +1,216 @@
+package org.jboss.da.communication.aprox.impl;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.common.util.ConfigurationParseException;
+import org.jboss.da.metrics.MetricsConfiguration;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client shared by all the communication with Indy. Connections are pooled and kept alive
+ * between requests, so that consecutive metadata lookups reuse already established connections
+ * instead of doing new handshake for each request. Besides the blocking client there is also a
+ * non-blocking one, which doesn't occupy any thread while waiting for the response.
+ */
+@ApplicationScoped
+public class AproxHttpClient {
+
+    private static final String METRICS_KEY = "da.client.indy.pool";
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private MetricsConfiguration metricsConfiguration;
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    private CloseableHttpClient httpClient;
+
+    private PoolingNHttpClientConnectionManager asyncConnectionManager;
+
+    private CloseableHttpAsyncClient asyncClient;
+
+    private final long idleTimeout;
+
+    private ScheduledFuture<?> eviction;
+
+    @Inject
+    public AproxHttpClient(Configuration configuration) {
+        DAConfig config;
+        try {
+            config = configuration.getConfig();
+        } catch (ConfigurationParseException ex) {
+            throw new IllegalStateException(
+                    "Configuration failure, can't configure connection pool", ex);
+        }
+
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getAproxMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getAproxMaxConnectionsPerRoute());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(config.getAproxRequestTimeout())
+                .setSocketTimeout(config.getAproxRequestTimeout())
+                .setConnectionRequestTimeout(config.getAproxRequestTimeout()).build();
+
+        httpClient = HttpClients.custom().setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig).evictExpiredConnections()
+                .evictIdleConnections((long) config.getAproxConnectionIdleTimeout(),
+                        TimeUnit.MILLISECONDS).build();
+
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setConnectTimeout(config.getAproxRequestTimeout())
+                .setSoTimeout(config.getAproxRequestTimeout()).build();
+        try {
+            asyncConnectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig));
+        } catch (IOReactorException ex) {
+            throw new IllegalStateException("Failed to create non-blocking Indy connection pool",
+                    ex);
+        }
+        asyncConnectionManager.setMaxTotal(config.getAproxMaxConnections());
+        asyncConnectionManager.setDefaultMaxPerRoute(config.getAproxMaxConnectionsPerRoute());
+
+        asyncClient = HttpAsyncClients.custom().setConnectionManager(asyncConnectionManager)
+                .setDefaultRequestConfig(requestConfig).build();
+        asyncClient.start();
+
+        idleTimeout = config.getAproxConnectionIdleTimeout();
+    }
+
+    @PostConstruct
+    private void init() {
+        // the scheduler is managed by the container, so it is available only after construction
+        eviction = scheduler.scheduleWithFixedDelay(() -> {
+            asyncConnectionManager.closeExpiredConnections();
+            asyncConnectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        MetricRegistry registry = metricsConfiguration.getMetricRegistry();
+        if (registry == null) {
+            return;
+        }
+        registry.register(METRICS_KEY + ".leased",
+                (Gauge<Integer>) () -> connectionManager.getTotalStats().getLeased());
+        registry.register(METRICS_KEY + ".pending",
+                (Gauge<Integer>) () -> connectionManager.getTotalStats().getPending());
+        registry.register(METRICS_KEY + ".available",
+                (Gauge<Integer>) () -> connectionManager.getTotalStats().getAvailable());
+        registry.register(METRICS_KEY + ".max",
+                (Gauge<Integer>) () -> connectionManager.getTotalStats().getMax());
+        registry.register(METRICS_KEY + ".async.leased",
+                (Gauge<Integer>) () -> asyncConnectionManager.getTotalStats().getLeased());
+        registry.register(METRICS_KEY + ".async.pending",
+                (Gauge<Integer>) () -> asyncConnectionManager.getTotalStats().getPending());
+        registry.register(METRICS_KEY + ".async.available",
+                (Gauge<Integer>) () -> asyncConnectionManager.getTotalStats().getAvailable());
+    }
+
+    /**
+     * Executes the request using pooled connection. The caller is responsible for closing the
+     * response (or fully consuming its entity) so that the connection is returned to the pool.
+     *
+     * @param request Request to execute.
+     * @return Response to the request.
+     * @throws IOException When the request fails.
+     */
+    public CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+        return httpClient.execute(request);
+    }
+
+    /**
+     * Executes the request without blocking. The response entity is fully read into memory
+     * before the returned future completes, the connection is then already returned to the pool.
+     * The future is completed by the I/O dispatcher thread, so any expensive processing of the
+     * response should be done asynchronously.
+     *
+     * @param request Request to execute.
+     * @return Future response to the request.
+     */
+    public CompletableFuture<HttpResponse> executeAsync(HttpUriRequest request) {
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        asyncClient.execute(request, new FutureCallback<HttpResponse>() {
+
+            @Override
+            public void completed(HttpResponse response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                future.completeExceptionally(new IOException("Request to " + request.getURI()
+                        + " was cancelled"));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns future that completes after the given delay, without blocking any thread.
+     *
+     * @param millis Delay in milliseconds.
+     * @return Future completed after the delay.
+     */
+    public CompletableFuture<Void> delay(long millis) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.complete(null), millis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @PreDestroy
+    private void close() {
+        if (eviction != null) {
+            eviction.cancel(false);
+        }
+        try {
+            httpClient.close();
+        } catch (IOException ex) {
+            log.warn("Failed to close Indy connection pool.", ex);
+        }
+        try {
+            asyncClient.close();
+        } catch (IOException ex) {
+            log.warn("Failed to close non-blocking Indy connection pool.", ex);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.jboss.da.communication.aprox.impl;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Circuit breaker guarding requests to one repository group. While closed, outcomes of the last
+ * requests are tracked and when too many of them failed or were too slow, the circuit opens.
+ * While open, requests are not allowed. After the open duration elapses, the circuit is half-open
+ * and allows a single probe request: when it succeeds the circuit closes, otherwise it opens
+ * again. Every state change starts a new generation, outcomes of requests allowed in an older
+ * generation are ignored, so a late request can't be taken as the probe.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+
+    private final int failureRateThreshold;
+
+    private final long slowCallThreshold;
+
+    private final long openDuration;
+
+    private final Consumer<State> onTransition;
+
+    private final boolean[] window;
+
+    private int windowPosition;
+
+    private int windowCount;
+
+    private int failures;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    private boolean probeInFlight;
+
+    private long generation;
+
+    /**
+     * @param name Name of the guarded repository group.
+     * @param windowSize Number of last requests from which the failure rate is computed.
+     * @param failureRateThreshold Percentage of failed requests which opens the circuit.
+     * @param slowCallThreshold Latency in milliseconds above which the request counts as failed.
+     * @param openDuration Time in milliseconds for which the circuit stays open.
+     * @param onTransition Called with the new state when the state changes.
+     */
+    CircuitBreaker(String name, int windowSize, int failureRateThreshold,
+            long slowCallThreshold, long openDuration, Consumer<State> onTransition) {
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThreshold = TimeUnit.MILLISECONDS.toNanos(slowCallThreshold);
+        this.openDuration = TimeUnit.MILLISECONDS.toNanos(openDuration);
+        this.onTransition = onTransition;
+    }
+
+    /**
+     * Returns permit to send a request, or empty when no request may be sent now. The outcome of
+     * the request must be reported to the permit.
+     */
+    Optional<Permit> tryAcquire() {
+        State transition = null;
+        try {
+            synchronized (this) {
+                switch (state) {
+                    case CLOSED:
+                        return Optional.of(new Permit(generation));
+                    case OPEN:
+                        if (System.nanoTime() - openedAt < openDuration) {
+                            return Optional.empty();
+                        }
+                        state = State.HALF_OPEN;
+                        generation++;
+                        transition = state;
+                        probeInFlight = true;
+                        return Optional.of(new Permit(generation));
+                    case HALF_OPEN:
+                        if (probeInFlight) {
+                            return Optional.empty();
+                        }
+                        probeInFlight = true;
+                        return Optional.of(new Permit(generation));
+                    default:
+                        throw new IllegalStateException("Unknown state " + state);
+                }
+            }
+        } finally {
+            if (transition != null) {
+                onTransition.accept(transition);
+            }
+        }
+    }
+
+    private void onResult(long permitGeneration, boolean success, long latency) {
+        boolean failed = !success || latency > slowCallThreshold;
+        State transition = null;
+        synchronized (this) {
+            if (permitGeneration != generation) {
+                // request allowed before the state changed, ignore
+                return;
+            }
+            switch (state) {
+                case HALF_OPEN:
+                    probeInFlight = false;
+                    transition = failed ? open() : close();
+                    break;
+                case CLOSED:
+                    record(failed);
+                    if (windowCount == window.length
+                            && failures * 100 >= failureRateThreshold * windowCount) {
+                        transition = open();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (transition != null) {
+            onTransition.accept(transition);
+        }
+    }
+
+    private synchronized void onCancel(long permitGeneration) {
+        if (permitGeneration == generation && state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == window.length) {
+            if (window[windowPosition]) {
+                failures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowPosition] = failed;
+        if (failed) {
+            failures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+
+    private State open() {
+        state = State.OPEN;
+        generation++;
+        openedAt = System.nanoTime();
+        return state;
+    }
+
+    private State close() {
+        state = State.CLOSED;
+        generation++;
+        windowPosition = 0;
+        windowCount = 0;
+        failures = 0;
+        return state;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Permit to send one request, tagged with the generation in which it was allowed. Only the
+     * first outcome reported to the permit is taken into account.
+     */
+    class Permit {
+
+        private final long permitGeneration;
+
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        private Permit(long permitGeneration) {
+            this.permitGeneration = permitGeneration;
+        }
+
+        /**
+         * Reports outcome of the request.
+         *
+         * @param success Whether the request succeeded.
+         * @param latency Latency of the request in nanoseconds.
+         */
+        void onResult(boolean success, long latency) {
+            if (reported.compareAndSet(false, true)) {
+                CircuitBreaker.this.onResult(permitGeneration, success, latency);
+            }
+        }
+
+        /**
+         * Reports that the request was not sent after all.
+         */
+        void onCancel() {
+            if (reported.compareAndSet(false, true)) {
+                CircuitBreaker.this.onCancel(permitGeneration);
+            }
+        }
+    }
+}
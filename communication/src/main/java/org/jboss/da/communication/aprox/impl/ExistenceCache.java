@@ -0,0 +1,53 @@
+package org.jboss.da.communication.aprox.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers which artifacts exist in the repository. Released artifacts are immutable, so an
+ * artifact that exists is remembered until it is evicted because the cache is full. An artifact
+ * that doesn't exist may be deployed later, so that is remembered only for the configured time.
+ */
+class ExistenceCache {
+
+    private final long missingTtl;
+
+    private final Map<String, Long> cache;
+
+    /**
+     * @param missingTtl Time in milliseconds for which missing artifacts are remembered.
+     * @param maxSize Maximum number of remembered artifacts.
+     */
+    ExistenceCache(long missingTtl, int maxSize) {
+        this.missingTtl = missingTtl;
+        this.cache = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns whether the artifact exists, or null when it is not known.
+     */
+    synchronized Boolean exists(String key) {
+        Long expires = cache.get(key);
+        if (expires == null) {
+            return null;
+        }
+        if (expires == Long.MAX_VALUE) {
+            return true;
+        }
+        if (System.currentTimeMillis() < expires) {
+            return false;
+        }
+        cache.remove(key);
+        return null;
+    }
+
+    synchronized void put(String key, boolean exists) {
+        cache.put(key, exists ? Long.MAX_VALUE : System.currentTimeMillis() + missingTtl);
+    }
+}
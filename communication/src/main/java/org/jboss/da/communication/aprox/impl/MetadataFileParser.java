@@ -2,16 +2,24 @@ package org.jboss.da.communication.aprox.impl;
 
 import org.jboss.da.common.CommunicationException;
 import org.jboss.da.communication.aprox.model.VersionResponse;
-import org.jboss.da.communication.aprox.model.npm.NpmMetadata;
+import org.jboss.da.communication.repository.api.RepositoryException;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -25,16 +33,118 @@ public class MetadataFileParser {
     @Inject
     private ObjectMapper om;
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private static JAXBContext jaxbContext;
+
     public static VersionResponse parseMavenMetadata(InputStream in) throws IOException,
             CommunicationException, JAXBException {
-        JAXBContext jaxbContext = JAXBContext.newInstance(VersionResponse.class);
-        Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
+        Unmarshaller jaxbUnmarshaller = getJAXBContext().createUnmarshaller();
         return (VersionResponse) jaxbUnmarshaller.unmarshal(in);
     }
 
-    public NpmMetadata parseNpmMetadata(URLConnection connection) throws IOException {
-        try (InputStream in = connection.getInputStream()) {
-            return om.readValue(in, NpmMetadata.class);
+    /**
+     * Reads only the versions listed in maven-metadata.xml, that is the text of
+     * metadata/versioning/versions/version elements. The rest of the document is skipped without
+     * building any objects for it.
+     *
+     * @param in Stream with the maven-metadata.xml content.
+     * @return Versions in the order in which they are listed in the metadata.
+     * @throws CommunicationException When the metadata can't be parsed.
+     */
+    public static List<String> parseMavenMetadataVersions(InputStream in)
+            throws CommunicationException {
+        List<String> versions = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            int depth = 0;
+            boolean inVersioning = false;
+            boolean inVersions = false;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        String name = reader.getLocalName();
+                        if (depth == 2 && "versioning".equals(name)) {
+                            inVersioning = true;
+                        } else if (depth == 3 && inVersioning && "versions".equals(name)) {
+                            inVersions = true;
+                        } else if (depth == 4 && inVersions && "version".equals(name)) {
+                            // getElementText() moves the reader to the end of the element
+                            versions.add(reader.getElementText().trim());
+                            depth--;
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (depth == 2) {
+                            inVersioning = false;
+                        } else if (depth == 3) {
+                            inVersions = false;
+                        }
+                        depth--;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new RepositoryException("Failed to parse metadata file", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // nothing to do, the underlying stream is closed by the caller
+                }
+            }
+        }
+        return versions;
+    }
+
+    private static synchronized JAXBContext getJAXBContext() throws JAXBException {
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(VersionResponse.class);
+        }
+        return jaxbContext;
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Reads only the names of versions from npm package metadata, that is the keys of the
+     * top level "versions" object. All other content, including the version manifests, is
+     * skipped without being deserialized. Works with both full and abbreviated metadata.
+     *
+     * @param in Stream with the package metadata.
+     * @return Versions in the order in which they are listed in the metadata.
+     * @throws IOException When the metadata can't be read or parsed.
+     */
+    public List<String> parseNpmMetadataVersions(InputStream in) throws IOException {
+        List<String> versions = new ArrayList<>();
+        try (JsonParser parser = om.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Npm metadata is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("versions".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        versions.add(parser.getCurrentName());
+                        parser.nextToken();
+                        parser.skipChildren();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
         }
+        return versions;
     }
 }
@@ -0,0 +1,61 @@
+package org.jboss.da.communication.aprox.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent requests for the same key into a single request. The first caller
+ * performs the request, callers that come while it is in flight share its result instead of
+ * sending their own request.
+ */
+class RequestCoalescer<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns result of the loader for given key. When there is a request for the same key
+     * already in flight, the loader is not called and the result of the in flight request is
+     * returned instead.
+     *
+     * @param key Key identifying the request.
+     * @param loader Starts the actual request.
+     * @param onCoalesced Called when the request was coalesced with the one in flight.
+     * @return Future result of the request.
+     */
+    CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader,
+            Runnable onCoalesced) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            onCoalesced.run();
+            // don't let the caller complete or cancel the shared future
+            return existing.thenApply(v -> v);
+        }
+
+        CompletableFuture<V> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException ex) {
+            loaded = new CompletableFuture<>();
+            loaded.completeExceptionally(ex);
+        }
+        loaded.whenComplete((value, ex) -> {
+            inFlight.remove(key, future);
+            if (ex == null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Number of requests currently in flight.
+     */
+    int inFlight() {
+        return inFlight.size();
+    }
+}
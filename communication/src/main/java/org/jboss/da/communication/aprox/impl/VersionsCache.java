@@ -0,0 +1,100 @@
+package org.jboss.da.communication.aprox.impl;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache of version lists obtained from Indy metadata. Entries are considered
+ * fresh for the configured time to live, after that they should be revalidated using the stored
+ * ETag and Last-Modified values. When the cache is full, the least recently used entry is
+ * discarded.
+ */
+class VersionsCache {
+
+    private final long ttl;
+
+    private final Map<String, Entry> cache;
+
+    /**
+     * @param ttl Time in milliseconds for which the entries are fresh.
+     * @param maxSize Maximum number of entries in the cache.
+     */
+    VersionsCache(long ttl, int maxSize) {
+        this.ttl = ttl;
+        this.cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns cached entry for given key, fresh or stale, or null when there is no such entry.
+     */
+    synchronized Entry get(String key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Stores newly downloaded versions together with the validators returned by the server.
+     */
+    synchronized Entry put(String key, List<String> versions, String eTag, String lastModified) {
+        Entry entry = new Entry(Collections.unmodifiableList(versions), eTag, lastModified,
+                System.currentTimeMillis() + ttl);
+        cache.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Marks the stale entry as fresh again after the server confirmed it was not modified.
+     */
+    synchronized Entry revalidated(String key, Entry entry) {
+        Entry refreshed = new Entry(entry.getVersions(), entry.getETag(),
+                entry.getLastModified(), System.currentTimeMillis() + ttl);
+        cache.put(key, refreshed);
+        return refreshed;
+    }
+
+    synchronized void invalidate(String key) {
+        cache.remove(key);
+    }
+
+    /**
+     * Removes all entries with key matching given predicate.
+     */
+    synchronized void invalidateIf(Predicate<String> predicate) {
+        cache.keySet().removeIf(predicate);
+    }
+
+    static class Entry {
+
+        @Getter
+        private final List<String> versions;
+
+        @Getter
+        private final String eTag;
+
+        @Getter
+        private final String lastModified;
+
+        private final long expires;
+
+        private Entry(List<String> versions, String eTag, String lastModified, long expires) {
+            this.versions = versions;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expires = expires;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expires;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.jboss.da.communication.repository.api;
+
+/**
+ * Thrown when request to the repository was not sent, because the repository was recently
+ * failing or responding too slowly and the circuit breaker guarding it is open.
+ */
+public class CircuitOpenException extends RequestRejectedException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+
+}
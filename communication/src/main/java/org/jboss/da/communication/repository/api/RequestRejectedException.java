@@ -0,0 +1,13 @@
+package org.jboss.da.communication.repository.api;
+
+/**
+ * Thrown when request to the repository was not sent, because the repository is overloaded or
+ * unavailable. Callers may treat the result as unavailable and continue with partial results.
+ */
+public class RequestRejectedException extends RepositoryException {
+
+    public RequestRejectedException(String message) {
+        super(message, null);
+    }
+
+}
@@ -6,19 +6,37 @@ import org.jboss.da.communication.aprox.model.VersionResponse;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
+@RunWith(MockitoJUnitRunner.class)
 public class MetadataFileParserTest {
 
     private static VersionResponse versionResponse;
 
+    @Spy
+    private ObjectMapper om = new ObjectMapper();
+
+    @InjectMocks
+    private MetadataFileParser parser;
+
     @BeforeClass
     public static void init() throws JAXBException, IOException, CommunicationException {
         try (InputStream in = getResourceSteam("maven-metadata.xml")) {
@@ -59,6 +77,81 @@ public class MetadataFileParserTest {
         Assert.assertEquals("1.4.1.Final-redhat-2", latestReleaseVersion);
     }
 
+    @Test
+    public void streamingParserTest() throws JAXBException, IOException, CommunicationException {
+        // given
+        List<String> versions;
+        try (InputStream in = getResourceSteam("maven-metadata.xml")) {
+            versions = MetadataFileParser.parseMavenMetadataVersions(in);
+        }
+
+        // expect
+        Assert.assertEquals(versionResponse.getVersioning().getVersions().getVersion(), versions);
+    }
+
+    @Test
+    public void npmFullMetadataTest() throws IOException {
+        // given
+        String metadata = "{\"_id\":\"left-pad\",\"name\":\"left-pad\","
+                + "\"dist-tags\":{\"latest\":\"1.3.0\"},"
+                + "\"versions\":{"
+                + "\"1.0.0\":{\"name\":\"left-pad\",\"version\":\"1.0.0\","
+                + "\"dist\":{\"shasum\":\"abc\"},\"maintainers\":[{\"name\":\"a\"}]},"
+                + "\"1.3.0-redhat-1\":{\"name\":\"left-pad\",\"version\":\"1.3.0-redhat-1\"},"
+                + "\"1.3.0\":{\"name\":\"left-pad\",\"version\":\"1.3.0\"}},"
+                + "\"time\":{\"1.0.0\":\"2014-03-13T21:37:38.916Z\"},"
+                + "\"readme\":\"# left-pad\"}";
+
+        // expect
+        Assert.assertEquals(Arrays.asList("1.0.0", "1.3.0-redhat-1", "1.3.0"),
+                parseNpm(metadata));
+    }
+
+    @Test
+    public void npmAbbreviatedMetadataTest() throws IOException {
+        // given
+        String metadata = "{\"name\":\"left-pad\",\"modified\":\"2018-04-09T01:04:04.000Z\","
+                + "\"dist-tags\":{\"latest\":\"1.3.0\"},"
+                + "\"versions\":{"
+                + "\"1.0.0\":{\"name\":\"left-pad\",\"version\":\"1.0.0\","
+                + "\"dist\":{\"tarball\":\"https://registry/left-pad-1.0.0.tgz\"}},"
+                + "\"1.3.0\":{\"name\":\"left-pad\",\"version\":\"1.3.0\","
+                + "\"deprecated\":false}}}";
+
+        // expect
+        Assert.assertEquals(Arrays.asList("1.0.0", "1.3.0"), parseNpm(metadata));
+    }
+
+    @Test
+    public void npmNestedVersionsAreSkippedTest() throws IOException {
+        // given
+        String metadata = "{\"time\":{\"versions\":{\"9.9.9\":{}}},"
+                + "\"users\":[{\"versions\":{\"8.8.8\":{}}}],"
+                + "\"versions\":{"
+                + "\"1.0.0\":{\"versions\":{\"7.7.7\":{}},"
+                + "\"dependencies\":{\"versions\":\"^1.0\"}}},"
+                + "\"readme\":{\"versions\":{\"6.6.6\":{}}}}";
+
+        // expect
+        Assert.assertEquals(Collections.singletonList("1.0.0"), parseNpm(metadata));
+    }
+
+    @Test
+    public void npmMetadataWithoutVersionsTest() throws IOException {
+        // expect
+        Assert.assertEquals(Collections.emptyList(), parseNpm("{\"name\":\"left-pad\"}"));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void npmMetadataNotObjectTest() throws IOException {
+        parseNpm("[\"1.0.0\"]");
+    }
+
+    private List<String> parseNpm(String metadata) throws IOException {
+        return parser.parseNpmMetadataVersions(new ByteArrayInputStream(metadata
+                .getBytes(StandardCharsets.UTF_8)));
+    }
+
     private static InputStream getResourceSteam(String file) {
         return MetadataFileParserTest.class.getClassLoader().getResourceAsStream(file);
     }
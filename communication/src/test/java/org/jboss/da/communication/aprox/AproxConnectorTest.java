@@ -5,29 +5,54 @@ import org.jboss.da.common.json.DAConfig;
 import org.jboss.da.common.util.Configuration;
 import org.jboss.da.common.util.ConfigurationParseException;
 import org.jboss.da.communication.aprox.impl.AproxConnectorImpl;
+import org.jboss.da.communication.aprox.impl.AproxHttpClient;
 import org.jboss.da.communication.aprox.impl.MetadataFileParser;
 import org.jboss.da.communication.pom.api.PomAnalyzer;
+import org.jboss.da.communication.repository.api.RepositoryException;
 import org.jboss.da.metrics.MetricsConfiguration;
 import org.jboss.da.model.rest.GA;
+import org.jboss.da.model.rest.GAV;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.slf4j.Logger;
 
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+
+import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
 
 /**
  *
@@ -57,6 +82,21 @@ public class AproxConnectorTest {
     @InjectMocks
     private MetadataFileParser parser = new MetadataFileParser();
 
+    private final ScheduledExecutorService realScheduler = Executors
+            .newSingleThreadScheduledExecutor();
+
+    private final ExecutorService realExecutor = Executors.newSingleThreadExecutor();
+
+    @Mock
+    private ManagedScheduledExecutorService scheduler;
+
+    @Mock
+    private ManagedExecutorService executor;
+
+    @Spy
+    @InjectMocks
+    private AproxHttpClient httpClient = new AproxHttpClient(config);
+
     @InjectMocks
     private final AproxConnectorImpl aproxConnector = new AproxConnectorImpl(config);
 
@@ -68,6 +108,8 @@ public class AproxConnectorTest {
 
     private static final GA GA = new GA("foo.bar", "baz");
 
+    private static final String METADATA_URL = "/api/content/maven/group/DA-TEST-GROUP/foo/bar/baz/maven-metadata.xml";
+
     private static final String FOOBAR_MAVEN_METADATA = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
             + "<metadata>\n"
             + "  <groupId>foo.bar</groupId>\n"
@@ -84,12 +126,30 @@ public class AproxConnectorTest {
             + "  </versioning>\n"
             + "</metadata>";
 
+    @Before
+    public void setUp() {
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).then(
+                i -> realScheduler.schedule((Runnable) i.getArguments()[0],
+                        (Long) i.getArguments()[1], (TimeUnit) i.getArguments()[2]));
+        doAnswer(i -> {
+            realExecutor.execute((Runnable) i.getArguments()[0]);
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @After
+    public void tearDown() {
+        realScheduler.shutdownNow();
+        realExecutor.shutdownNow();
+    }
+
     private static Configuration initConfig() {
         DAConfig cfg = new DAConfig();
         cfg.setAproxServer("http://localhost:8082");
         cfg.setAproxGroup("DA-TEST-GROUP");
         cfg.setAproxGroupPublic("DA-PUBLIC-TEST-GROUP");
         cfg.setAproxRequestTimeout(30000);
+        cfg.setAproxMetadataCacheTtl(0); // always revalidate cached metadata
         Configuration config = Mockito.mock(Configuration.class);
         try {
             when(config.getConfig()).thenReturn(cfg);
@@ -150,6 +210,8 @@ public class AproxConnectorTest {
         //verify
         assertTrue("Unmatched requests: " + WireMock.findUnmatchedRequests(), WireMock
                 .findUnmatchedRequests().isEmpty());
+        verify(getRequestedFor(urlEqualTo("/api/content/npm/group/DA-TEST-GROUP/jquery/package.json"))
+                .withHeader("Accept", containing("application/vnd.npm.install-v1+json")));
         assertEquals(9, versionsOfGA.size());
         assertTrue(versionsOfGA.contains("1.12.1"));
         assertTrue(versionsOfGA.contains("1.5.1"));
@@ -161,4 +223,160 @@ public class AproxConnectorTest {
         assertTrue(versionsOfGA.contains("3.0.0-rc1"));
         assertTrue(versionsOfGA.contains("3.1.0"));
     }
+
+    @Test
+    public void testGetVersionsOfGARevalidatesCachedMetadata()
+            throws ConfigurationParseException, CommunicationException {
+        String url = "/api/content/maven/group/DA-TEST-GROUP/foo/bar/baz/maven-metadata.xml";
+        stubFor(get(urlEqualTo(url)).willReturn(
+                aResponse().withStatus(200).withHeader("Content-Type", "text/xml")
+                        .withHeader("ETag", "\"v1\"").withBody(FOOBAR_MAVEN_METADATA)));
+        stubFor(get(urlEqualTo(url)).withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        List<String> versionsOfGA = aproxConnector.getVersionsOfGA(GA);
+        List<String> revalidated = aproxConnector.getVersionsOfGA(GA);
+
+        //verify
+        verify(1, getRequestedFor(urlEqualTo(url)).withHeader("If-None-Match",
+                equalTo("\"v1\"")));
+        verify(2, getRequestedFor(urlEqualTo(url)));
+        assertEquals(3, versionsOfGA.size());
+        assertEquals(versionsOfGA, revalidated);
+    }
+
+    @Test
+    public void testGetVersionsOfGARemembersNotFound() throws ConfigurationParseException,
+            CommunicationException {
+        String url = "/api/content/maven/group/DA-TEST-GROUP/foo/bar/baz/maven-metadata.xml";
+        stubFor(get(urlEqualTo(url)).willReturn(aResponse().withStatus(404)));
+
+        assertTrue(aproxConnector.getVersionsOfGA(GA).isEmpty());
+        assertTrue(aproxConnector.getVersionsOfGA(GA).isEmpty());
+        verify(1, getRequestedFor(urlEqualTo(url)));
+
+        aproxConnector.invalidateNotFound(GA);
+        assertTrue(aproxConnector.getVersionsOfGA(GA).isEmpty());
+        verify(2, getRequestedFor(urlEqualTo(url)));
+    }
+
+    @Test
+    public void testDoesGAVExistInPublicRepoIsCached() throws CommunicationException {
+        String url = "/api/group/DA-PUBLIC-TEST-GROUP/foo/bar/baz/1.0/baz-1.0.pom";
+        stubFor(request("HEAD", urlEqualTo(url)).willReturn(aResponse().withStatus(200)));
+
+        assertTrue(aproxConnector.doesGAVExistInPublicRepo(new GAV(GA, "1.0")));
+        assertTrue(aproxConnector.doesGAVExistInPublicRepo(new GAV(GA, "1.0")));
+
+        verify(1, newRequestPattern(RequestMethod.HEAD, urlEqualTo(url)));
+        verify(0, getRequestedFor(urlEqualTo(url)));
+    }
+
+    @Test
+    public void testDoesGAVExistInPublicRepoEncodesVersion() throws CommunicationException {
+        String url = "/api/group/DA-PUBLIC-TEST-GROUP/foo/bar/baz/%24%7Bproject.version%7D/"
+                + "baz-%24%7Bproject.version%7D.pom";
+        stubFor(request("HEAD", urlEqualTo(url)).willReturn(aResponse().withStatus(404)));
+
+        assertFalse(aproxConnector.doesGAVExistInPublicRepo(new GAV(GA, "${project.version}")));
+
+        verify(1, newRequestPattern(RequestMethod.HEAD, urlEqualTo(url)));
+    }
+
+    @Test(timeout = 10000)
+    public void testGetPomStreamDoesNotHoldPermit() throws CommunicationException {
+        String url = "/api/group/DA-PUBLIC-TEST-GROUP/foo/bar/baz/1.0/baz-1.0.pom";
+        stubFor(get(urlEqualTo(url)).willReturn(
+                aResponse().withStatus(200).withBody("<project/>")));
+
+        // more than the maximal limit of concurrent requests, the streams are not closed
+        for (int i = 0; i < 60; i++) {
+            assertTrue(aproxConnector.getPomStream(new GAV(GA, "1.0")).isPresent());
+        }
+    }
+
+    @Test
+    public void testGetVersionsOfGAAsync() throws Exception {
+        stubFor(get(urlEqualTo(METADATA_URL)).willReturn(
+                aResponse().withStatus(200).withHeader("Content-Type", "text/xml")
+                        .withBody(FOOBAR_MAVEN_METADATA)));
+
+        List<String> versionsOfGA = aproxConnector.getVersionsOfGAAsync(GA).get(5,
+                TimeUnit.SECONDS);
+
+        assertEquals(3, versionsOfGA.size());
+        assertTrue(versionsOfGA.contains(REDHAT5));
+        assertTrue(versionsOfGA.contains(REDHAT2));
+        assertTrue(versionsOfGA.contains(REDHAT3));
+        Mockito.verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void testGetVersionsOfGAAsyncRetriesServerErrors() throws Exception {
+        stubFor(get(urlEqualTo(METADATA_URL)).inScenario("retry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(504)).willSetStateTo("second"));
+        stubFor(get(urlEqualTo(METADATA_URL)).inScenario("retry")
+                .whenScenarioStateIs("second")
+                .willReturn(aResponse().withStatus(500)).willSetStateTo("third"));
+        stubFor(get(urlEqualTo(METADATA_URL)).inScenario("retry")
+                .whenScenarioStateIs("third")
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "text/xml")
+                        .withBody(FOOBAR_MAVEN_METADATA)));
+
+        List<String> versionsOfGA = aproxConnector.getVersionsOfGAAsync(GA).get(5,
+                TimeUnit.SECONDS);
+
+        assertEquals(3, versionsOfGA.size());
+        verify(3, getRequestedFor(urlEqualTo(METADATA_URL)));
+        Mockito.verify(scheduler).schedule(any(Runnable.class), Mockito.eq(200L),
+                Mockito.eq(TimeUnit.MILLISECONDS));
+        Mockito.verify(scheduler).schedule(any(Runnable.class), Mockito.eq(400L),
+                Mockito.eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testGetVersionsOfGAAsyncFailsAfterRetries() throws Exception {
+        stubFor(get(urlEqualTo(METADATA_URL)).willReturn(aResponse().withStatus(500)));
+
+        assertRepositoryFailure(aproxConnector.getVersionsOfGAAsync(GA));
+
+        verify(3, getRequestedFor(urlEqualTo(METADATA_URL)));
+        Mockito.verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(),
+                any(TimeUnit.class));
+    }
+
+    @Test
+    public void testGetVersionsOfGAAsyncWrapsFailure() throws Exception {
+        stubFor(get(urlEqualTo(METADATA_URL)).willReturn(aResponse().withStatus(403)));
+
+        assertRepositoryFailure(aproxConnector.getVersionsOfGAAsync(GA));
+
+        verify(1, getRequestedFor(urlEqualTo(METADATA_URL)));
+    }
+
+    private static void assertRepositoryFailure(Future<List<String>> future)
+            throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof RepositoryException);
+            assertTrue(ex.getCause().getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testGetVersionsOfNpmAsyncReleasesPermitWhenRequestIsNotSent() throws Exception {
+        // more requests than the concurrency limit and the circuit breaker window
+        for (int i = 0; i < 25; i++) {
+            try {
+                aproxConnector.getVersionsOfNpmAsync("invalid name").get(5, TimeUnit.SECONDS);
+                fail("Exception expected");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof RepositoryException);
+                assertTrue(ex.getCause().getCause() instanceof IllegalArgumentException);
+            }
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package org.jboss.da.communication.aprox.impl;
+
+import org.jboss.da.communication.repository.api.RequestRejectedException;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AdaptiveLimiterTest {
+
+    @Test
+    public void testRequestsOverLimitAreQueued() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 2, 1, 10, 60000, 10, false);
+
+        CompletableFuture<AdaptiveLimiter.Permit> first = limiter.acquire();
+        CompletableFuture<AdaptiveLimiter.Permit> second = limiter.acquire();
+        CompletableFuture<AdaptiveLimiter.Permit> third = limiter.acquire();
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(1, limiter.getQueueSize());
+
+        first.get().release(true);
+
+        assertTrue(third.isDone());
+        assertEquals(0, limiter.getQueueSize());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    public void testTryAcquireDoesNotQueue() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 1, 1, 10, 60000, 10, false);
+
+        AdaptiveLimiter.Permit permit = limiter.tryAcquire().get();
+        assertFalse(limiter.tryAcquire().isPresent());
+        assertEquals(0, limiter.getQueueSize());
+        assertEquals(0, limiter.getRejected());
+
+        permit.release(true);
+        assertTrue(limiter.tryAcquire().isPresent());
+    }
+
+    @Test
+    public void testBlockingAcquireTimesOut() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 1, 1, 10, 60000, 10, false);
+
+        AdaptiveLimiter.Permit permit = limiter.acquire(100, TimeUnit.MILLISECONDS);
+        try {
+            limiter.acquire(100, TimeUnit.MILLISECONDS);
+            fail("Request should be rejected");
+        } catch (RequestRejectedException ex) {
+            // expected
+        }
+        assertEquals(0, limiter.getQueueSize());
+
+        permit.release(true);
+        assertEquals(0, limiter.getInFlight());
+        limiter.acquire(100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testFastFailRejectsRequestsOverLimit() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 1, 1, 10, 60000, 10, true);
+
+        limiter.acquire().get();
+        try {
+            limiter.acquire().get();
+            fail("Request should be rejected");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof RequestRejectedException);
+        }
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    public void testLimitAdaptsToFailures() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 10, 2, 20, 60000, 10, false);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().get().release(false);
+        }
+        assertEquals(3, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire().get().release(true);
+        }
+        assertTrue(limiter.getLimit() > 3);
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,96 @@
+package org.jboss.da.communication.aprox.impl;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+    private final List<CircuitBreaker.State> transitions = new ArrayList<>();
+
+    @Test
+    public void testOpensOnFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 4, 50, 60000, 60000,
+                transitions::add);
+
+        for (int i = 0; i < 3; i++) {
+            breaker.tryAcquire().get().onResult(i % 2 == 0, 0);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.tryAcquire().get().onResult(false, 0);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire().isPresent());
+        assertEquals(1, transitions.size());
+    }
+
+    @Test
+    public void testSlowCallsCountAsFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 100, 10, 60000, transitions::add);
+
+        for (int i = 0; i < 2; i++) {
+            breaker.tryAcquire().get().onResult(true, 1_000_000_000L);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testHalfOpenProbe() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 100, 60000, 0, transitions::add);
+        breaker.tryAcquire().get().onResult(false, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // open duration is 0, so single probe is allowed right away
+        Optional<CircuitBreaker.Permit> probe = breaker.tryAcquire();
+        assertTrue(probe.isPresent());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire().isPresent());
+
+        probe.get().onResult(true, 0);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(3, transitions.size());
+    }
+
+    @Test
+    public void testLateResultIsNotTakenAsProbe() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 100, 60000, 0, transitions::add);
+        CircuitBreaker.Permit late = breaker.tryAcquire().get();
+        breaker.tryAcquire().get().onResult(false, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire().get();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // request allowed while the circuit was closed finishes during the probe
+        late.onResult(true, 0);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire().isPresent());
+
+        probe.onResult(false, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testCancelledProbeAllowsNewProbe() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 100, 60000, 0, transitions::add);
+        breaker.tryAcquire().get().onResult(false, 0);
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire().get();
+        probe.onCancel();
+        // reporting the cancelled permit again has no effect
+        probe.onResult(false, 0);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.tryAcquire().get().onResult(true, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
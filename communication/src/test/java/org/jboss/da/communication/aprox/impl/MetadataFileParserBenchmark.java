@@ -0,0 +1,91 @@
+package org.jboss.da.communication.aprox.impl;
+
+import org.jboss.da.communication.aprox.model.VersionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.xml.bind.JAXBContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing of maven-metadata.xml with a lot of versions. Run the main method from the
+ * test classpath to execute the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataFileParserBenchmark {
+
+    @Param({ "1000", "5000" })
+    private int versionCount;
+
+    private byte[] metadata;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        sb.append("<metadata>\n");
+        sb.append("  <groupId>org.jboss.da</groupId>\n");
+        sb.append("  <artifactId>benchmark</artifactId>\n");
+        sb.append("  <versioning>\n");
+        sb.append("    <latest>").append(versionCount).append(".0.0</latest>\n");
+        sb.append("    <release>").append(versionCount).append(".0.0</release>\n");
+        sb.append("    <versions>\n");
+        for (int i = 1; i <= versionCount; i++) {
+            sb.append("      <version>").append(i / 100).append('.').append(i % 100)
+                    .append(".0.Final-redhat-").append(i % 7 + 1).append("</version>\n");
+        }
+        sb.append("    </versions>\n");
+        sb.append("    <lastUpdated>20180101000000</lastUpdated>\n");
+        sb.append("  </versioning>\n");
+        sb.append("</metadata>\n");
+        metadata = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The original implementation, which created new JAXBContext for every parsed file.
+     */
+    @Benchmark
+    public List<String> jaxbNewContext() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(VersionResponse.class);
+        VersionResponse response = (VersionResponse) context.createUnmarshaller().unmarshal(
+                new ByteArrayInputStream(metadata));
+        return response.getVersioning().getVersions().getVersion();
+    }
+
+    @Benchmark
+    public List<String> jaxbCachedContext() throws Exception {
+        return MetadataFileParser.parseMavenMetadata(new ByteArrayInputStream(metadata))
+                .getVersioning().getVersions().getVersion();
+    }
+
+    @Benchmark
+    public List<String> stax() throws Exception {
+        return MetadataFileParser.parseMavenMetadataVersions(new ByteArrayInputStream(metadata));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MetadataFileParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package org.jboss.da.communication.aprox.impl;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestCoalescerTest {
+
+    private final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+    @Test
+    public void testConcurrentRequestsAreCoalesced() throws Exception {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger coalesced = new AtomicInteger();
+
+        CompletableFuture<String> first = coalescer.execute("key", () -> {
+            loads.incrementAndGet();
+            return response;
+        }, coalesced::incrementAndGet);
+        CompletableFuture<String> second = coalescer.execute("key", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        }, coalesced::incrementAndGet);
+        assertEquals(1, coalescer.inFlight());
+
+        response.complete("value");
+
+        assertEquals("value", first.get());
+        assertEquals("value", second.get());
+        assertEquals(1, loads.get());
+        assertEquals(1, coalesced.get());
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    @Test
+    public void testFailedRequestIsNotRemembered() throws Exception {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> failed = coalescer.execute("key", () -> response, () -> {});
+        response.completeExceptionally(new IOException("failed"));
+
+        try {
+            failed.get();
+            fail("Exception expected");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+        }
+
+        assertEquals("value",
+                coalescer.execute("key", () -> CompletableFuture.completedFuture("value"),
+                        () -> {}).get());
+    }
+}
@@ -1,9 +1,11 @@
 package org.jboss.da.listings.api.dao;
 
+import org.jboss.da.listings.api.model.GA;
 import org.jboss.da.listings.api.model.ProductVersionArtifactRelationship;
 import org.jboss.da.listings.api.model.ProductVersion;
 import org.jboss.da.listings.model.ProductSupportStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -104,4 +106,16 @@ public interface ProductVersionDAO extends GenericDAO<ProductVersion> {
      */
     List<ProductVersionArtifactRelationship> findProductVersionsWithArtifactsByGAStatus(
             String groupId, String artifactId, Optional<ProductSupportStatus> status);
+
+    /**
+     * Find ProductVersions with specific status that contains Artifact with any of the given
+     * groupId and artifactId pairs. The GAs are looked up in chunks, so that large collections of
+     * GAs need only few queries.
+     *
+     * @param gas groupId and artifactId pairs to look up
+     * @param status
+     * @return List of products with artifacts
+     */
+    List<ProductVersionArtifactRelationship> findProductVersionsWithArtifactsByGAs(
+            Collection<GA> gas, Optional<ProductSupportStatus> status);
 }
@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.jboss.da.listings.api.model.BlackArtifact;
 import org.jboss.da.model.rest.GAV;
 
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -33,6 +34,15 @@ public interface BlackArtifactService extends ArtifactService<BlackArtifact> {
      */
     boolean isArtifactPresent(GAV gav);
 
+    /**
+     * Finds which of the given GAVs are present in the blacklist. The same restrictions and
+     * conversions as in {@link #isArtifactPresent(GAV)} are applied.
+     *
+     * @param gavs GAVs to check.
+     * @return Subset of the given GAVs that are present in the blacklist.
+     */
+    Set<GAV> findBlacklisted(Collection<GAV> gavs);
+
     /**
      * Add artifact to blacklist.
      * If the version contains redhat suffix it is removed. Then the version is converted to OSGi
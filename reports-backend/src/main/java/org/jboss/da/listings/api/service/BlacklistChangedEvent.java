@@ -0,0 +1,8 @@
+package org.jboss.da.listings.api.service;
+
+/**
+ * CDI event fired when artifacts are added to or removed from the blacklist. Observers that cache
+ * the blacklist should observe it after the transaction successfully completes.
+ */
+public class BlacklistChangedEvent {
+}
@@ -0,0 +1,32 @@
+package org.jboss.da.listings.api.service;
+
+import org.jboss.da.model.rest.GAV;
+
+import java.util.Optional;
+
+/**
+ * CDI event fired when products or their whitelisted artifacts are modified. Observers that
+ * cache the listings should observe it after the transaction successfully completes.
+ */
+public class ListingsChangedEvent {
+
+    private final GAV addedArtifact;
+
+    public ListingsChangedEvent() {
+        this.addedArtifact = null;
+    }
+
+    /**
+     * @param addedArtifact Artifact that was added to a product.
+     */
+    public ListingsChangedEvent(GAV addedArtifact) {
+        this.addedArtifact = addedArtifact;
+    }
+
+    /**
+     * Returns the artifact that was added to a product, if the change was such an addition.
+     */
+    public Optional<GAV> getAddedArtifact() {
+        return Optional.ofNullable(addedArtifact);
+    }
+}
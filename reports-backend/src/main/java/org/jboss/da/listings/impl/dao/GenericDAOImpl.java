@@ -4,10 +4,20 @@ import static java.util.Objects.requireNonNull;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 
 import org.jboss.da.listings.api.dao.GenericDAO;
+import org.jboss.da.listings.api.model.GA;
 import org.jboss.da.listings.api.model.GenericEntity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
  * 
  * @author Jozef Mrazek &lt;jmrazek@redhat.com&gt;
@@ -15,6 +25,12 @@ import org.jboss.da.listings.api.model.GenericEntity;
  */
 public abstract class GenericDAOImpl<T extends GenericEntity> implements GenericDAO<T> {
 
+    /**
+     * Maximal number of GAs looked up in one query, keeps the IN lists well under the database
+     * limits.
+     */
+    protected static final int GA_BATCH_SIZE = 500;
+
     @PersistenceContext(unitName = "relationdbPU")
     protected EntityManager em;
 
@@ -62,4 +78,32 @@ public abstract class GenericDAOImpl<T extends GenericEntity> implements Generic
         delete(entity);
     }
 
+    /**
+     * Splits the GAs to chunks of at most {@link #GA_BATCH_SIZE} GAs.
+     */
+    protected static List<List<GA>> chunks(Collection<GA> gas) {
+        List<GA> gaList = new ArrayList<>(gas);
+        List<List<GA>> ret = new ArrayList<>();
+        for (int i = 0; i < gaList.size(); i += GA_BATCH_SIZE) {
+            ret.add(gaList.subList(i, Math.min(i + GA_BATCH_SIZE, gaList.size())));
+        }
+        return ret;
+    }
+
+    /**
+     * Creates restriction matching any of the given GAs. GAs with the same groupId are matched by
+     * single IN restriction on the artifactId.
+     */
+    protected static Predicate gaRestriction(CriteriaBuilder cb, Path<GA> ga, Collection<GA> gas) {
+        Map<String, List<String>> artifactIdsByGroupId = gas.stream()
+                .collect(Collectors.groupingBy(GA::getGroupId,
+                        Collectors.mapping(GA::getArtifactId, Collectors.toList())));
+        List<Predicate> gaPredicates = new ArrayList<>();
+        for (Map.Entry<String, List<String>> e : artifactIdsByGroupId.entrySet()) {
+            gaPredicates.add(cb.and(cb.equal(ga.get("groupId"), e.getKey()),
+                    ga.get("artifactId").in(e.getValue())));
+        }
+        return cb.or(gaPredicates.toArray(new Predicate[gaPredicates.size()]));
+    }
+
 }
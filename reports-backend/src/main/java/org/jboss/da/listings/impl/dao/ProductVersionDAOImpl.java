@@ -194,4 +194,36 @@ public class ProductVersionDAOImpl extends GenericDAOImpl<ProductVersion> implem
         List<ProductVersionArtifactRelationship> l = q.getResultList();
         return l;
     }
+
+    @Override
+    public List<ProductVersionArtifactRelationship> findProductVersionsWithArtifactsByGAs(
+            Collection<GA> gas, Optional<ProductSupportStatus> status) {
+        List<ProductVersionArtifactRelationship> ret = new ArrayList<>();
+        for (List<GA> chunk : chunks(gas)) {
+            ret.addAll(findProductVersionsWithArtifactsByGAChunk(chunk, status));
+        }
+        return ret;
+    }
+
+    private List<ProductVersionArtifactRelationship> findProductVersionsWithArtifactsByGAChunk(
+            List<GA> gas, Optional<ProductSupportStatus> status) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ProductVersionArtifactRelationship> cq = cb
+                .createQuery(ProductVersionArtifactRelationship.class);
+        Root<ProductVersion> productVersion = cq.from(type);
+        Root<WhiteArtifact> artifact = cq.from(WhiteArtifact.class);
+        Join<WhiteArtifact, GA> ga = artifact.join("ga");
+        Expression<Collection<WhiteArtifact>> artifacts = productVersion.get("whiteArtifacts");
+        cq.multiselect(productVersion, artifact);
+
+        final Predicate gaRestriction = cb.and(
+                cb.isMember(artifact, artifacts),
+                gaRestriction(cb, ga, gas));
+        Predicate restriction = status.map(x -> cb.and(gaRestriction,
+                cb.equal(productVersion.get("support"), x))).orElse(gaRestriction);
+
+        cq.where(restriction);
+        TypedQuery<ProductVersionArtifactRelationship> q = em.createQuery(cq);
+        return q.getResultList();
+    }
 }
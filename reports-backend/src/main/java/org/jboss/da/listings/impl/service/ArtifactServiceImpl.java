@@ -20,7 +20,7 @@ import java.util.List;
  */
 public abstract class ArtifactServiceImpl<T extends Artifact> implements ArtifactService<T> {
 
-    protected VersionParser versionParser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
+    protected VersionParser versionParser = VersionParser.getParser(VersionParser.DEFAULT_SUFFIX);
 
     @Inject
     AuthenticatorService auth;
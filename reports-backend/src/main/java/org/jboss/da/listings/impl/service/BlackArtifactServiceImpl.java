@@ -1,9 +1,11 @@
 package org.jboss.da.listings.impl.service;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
+import javax.enterprise.event.Event;
 import javax.faces.bean.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -15,10 +17,10 @@ import org.jboss.da.listings.api.model.BlackArtifact;
 import org.jboss.da.listings.api.model.GA;
 import org.jboss.da.listings.api.model.WhiteArtifact;
 import org.jboss.da.listings.api.service.BlackArtifactService;
+import org.jboss.da.listings.api.service.BlacklistChangedEvent;
 import org.jboss.da.model.rest.GAV;
 
 import java.util.Comparator;
-import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
@@ -43,6 +45,12 @@ public class BlackArtifactServiceImpl extends ArtifactServiceImpl<BlackArtifact>
     @Inject
     private GADAO gaDAO;
 
+    @Inject
+    private BlacklistCache blacklistCache;
+
+    @Inject
+    private Event<BlacklistChangedEvent> blacklistChanged;
+
     @Override
     protected ArtifactDAO<BlackArtifact> getDAO() {
         return blackArtifactDAO;
@@ -76,6 +84,7 @@ public class BlackArtifactServiceImpl extends ArtifactServiceImpl<BlackArtifact>
         }
         
         blackArtifactDAO.create(artifact);
+        blacklistChanged.fire(new BlacklistChangedEvent());
         return status;
     }
 
@@ -102,7 +111,17 @@ public class BlackArtifactServiceImpl extends ArtifactServiceImpl<BlackArtifact>
 
     @Override
     public boolean isArtifactPresent(String groupId, String artifactId, String version) {
-        return getArtifact(groupId, artifactId, version).isPresent();
+        return blacklistCache.getSnapshot().isBlacklisted(groupId, artifactId, version,
+                versionParser);
+    }
+
+    @Override
+    public Set<GAV> findBlacklisted(Collection<GAV> gavs) {
+        BlacklistSnapshot snapshot = blacklistCache.getSnapshot();
+        return gavs.stream()
+                .filter(gav -> snapshot.isBlacklisted(gav.getGroupId(), gav.getArtifactId(),
+                        gav.getVersion(), versionParser))
+                .collect(Collectors.toSet());
     }
 
     @Override
@@ -111,6 +130,7 @@ public class BlackArtifactServiceImpl extends ArtifactServiceImpl<BlackArtifact>
                 version);
         if (artifact.isPresent()) {
             blackArtifactDAO.delete(artifact.get());
+            blacklistChanged.fire(new BlacklistChangedEvent());
             return true;
         }
         return false;
@@ -0,0 +1,44 @@
+package org.jboss.da.listings.impl.service;
+
+import org.jboss.da.listings.api.dao.BlackArtifactDAO;
+import org.jboss.da.listings.api.service.BlacklistChangedEvent;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+
+/**
+ * Holds the current {@link BlacklistSnapshot}. The snapshot is loaded on first use and dropped
+ * when the blacklist changes, the next use loads a new one. Loading and dropping are
+ * synchronized, so a snapshot loaded concurrently with a change is never kept.
+ */
+@ApplicationScoped
+public class BlacklistCache {
+
+    @Inject
+    private BlackArtifactDAO blackArtifactDAO;
+
+    private volatile BlacklistSnapshot snapshot;
+
+    void onBlacklistChanged(
+            @Observes(during = TransactionPhase.AFTER_SUCCESS) BlacklistChangedEvent event) {
+        synchronized (this) {
+            snapshot = null;
+        }
+    }
+
+    BlacklistSnapshot getSnapshot() {
+        BlacklistSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = BlacklistSnapshot.of(blackArtifactDAO.findAll());
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,60 @@
+package org.jboss.da.listings.impl.service;
+
+import org.jboss.da.common.version.SuffixedVersion;
+import org.jboss.da.common.version.VersionParser;
+import org.jboss.da.listings.api.model.BlackArtifact;
+import org.jboss.da.model.rest.GA;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable copy of the blacklist, mapping GA to the blacklisted versions. Most of the checked
+ * artifacts are not blacklisted, so the map is guarded by a Bloom filter of the GAs, which
+ * answers these checks without parsing the version or looking into the map.
+ */
+class BlacklistSnapshot {
+
+    private final Map<GA, Set<String>> versions;
+
+    private final BloomFilter filter;
+
+    private BlacklistSnapshot(Map<GA, Set<String>> versions) {
+        this.versions = versions;
+        this.filter = new BloomFilter(versions.size());
+        for (GA ga : versions.keySet()) {
+            filter.add(ga.getGroupId(), ga.getArtifactId());
+        }
+    }
+
+    static BlacklistSnapshot of(Collection<BlackArtifact> artifacts) {
+        Map<GA, Set<String>> versions = new HashMap<>();
+        for (BlackArtifact artifact : artifacts) {
+            GA ga = new GA(artifact.getGa().getGroupId(), artifact.getGa().getArtifactId());
+            versions.computeIfAbsent(ga, k -> new HashSet<>()).add(artifact.getVersion());
+        }
+        return new BlacklistSnapshot(Collections.unmodifiableMap(versions));
+    }
+
+    /**
+     * Checks if the artifact is blacklisted, applying the same conversions as
+     * {@link BlackArtifactServiceImpl#getArtifact(String, String, String)}: the unsuffixed version
+     * is looked up first and the suffixed version only when the version has a suffix.
+     */
+    boolean isBlacklisted(String groupId, String artifactId, String version, VersionParser parser) {
+        if (!filter.mightContain(groupId, artifactId)) {
+            return false;
+        }
+        Set<String> blacklisted = versions.get(new GA(groupId, artifactId));
+        if (blacklisted == null) {
+            return false;
+        }
+        SuffixedVersion parsedVersion = parser.parse(version);
+        return blacklisted.contains(parsedVersion.unsuffixedVesion())
+                || (parsedVersion.isSuffixed() && blacklisted.contains(version));
+    }
+}
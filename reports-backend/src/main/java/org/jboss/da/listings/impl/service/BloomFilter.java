@@ -0,0 +1,66 @@
+package org.jboss.da.listings.impl.service;
+
+/**
+ * Fixed size Bloom filter of groupId:artifactId pairs. The bit positions are derived from the
+ * hash codes of the two strings, which are cached by {@link String}, so testing a pair doesn't
+ * iterate over the characters or allocate anything. The filter is not thread safe for writes,
+ * it is filled once and then only read.
+ */
+class BloomFilter {
+
+    private static final int BITS_PER_ELEMENT = 10;
+
+    private static final int HASH_FUNCTIONS = 7;
+
+    private final long[] bits;
+
+    private final int size;
+
+    /**
+     * @param expectedElements Number of elements that will be added to the filter.
+     */
+    BloomFilter(int expectedElements) {
+        long requested = Math.max(64L, (long) expectedElements * BITS_PER_ELEMENT);
+        int words = (int) Math.min(Integer.MAX_VALUE / 64, (requested + 63) / 64);
+        this.bits = new long[words];
+        this.size = words * 64;
+    }
+
+    void add(String groupId, String artifactId) {
+        long hash = hash(groupId, artifactId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = Math.floorMod(h1 + i * h2, size);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Returns false when the pair was certainly not added to the filter, true when it might have
+     * been.
+     */
+    boolean mightContain(String groupId, String artifactId) {
+        long hash = hash(groupId, artifactId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = Math.floorMod(h1 + i * h2, size);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String groupId, String artifactId) {
+        long h = ((long) groupId.hashCode() << 32) ^ (artifactId.hashCode() & 0xffffffffL);
+        // finalizer of the 64-bit MurmurHash3, spreads the bits of both hash codes
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -4,10 +4,12 @@ import org.jboss.da.listings.api.dao.ProductDAO;
 import org.jboss.da.listings.api.dao.ProductVersionDAO;
 import org.jboss.da.listings.api.model.Product;
 import org.jboss.da.listings.api.model.ProductVersion;
+import org.jboss.da.listings.api.service.ListingsChangedEvent;
 import org.jboss.da.listings.api.service.ProductService;
 import org.jboss.da.listings.model.ProductSupportStatus;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.persistence.EntityNotFoundException;
 
@@ -22,6 +24,9 @@ public class ProductServiceImpl implements ProductService {
     @Inject
     private ProductVersionDAO productVersionDAO;
 
+    @Inject
+    private Event<ListingsChangedEvent> listingsChanged;
+
     @Override
     public boolean addProduct(String name, String version, ProductSupportStatus status) {
         if (productVersionDAO.findProductVersion(name, version).isPresent()) {
@@ -34,6 +39,7 @@ public class ProductServiceImpl implements ProductService {
             p = productDAO.findProduct(name);
         }
         productVersionDAO.create(new ProductVersion(p.get(), version, status));
+        listingsChanged.fire(new ListingsChangedEvent());
         return true;
     }
 
@@ -45,6 +51,7 @@ public class ProductServiceImpl implements ProductService {
             if (productVersionDAO.findProductVersionsWithProduct(name).isEmpty()) {
                 productDAO.delete(productDAO.findProduct(name).get());
             }
+            listingsChanged.fire(new ListingsChangedEvent());
             return true;
         }
         throw new EntityNotFoundException("Product with this name and version is not in database");
@@ -52,6 +59,10 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public boolean changeProductStatus(String name, String version, ProductSupportStatus newStatus) {
-        return productVersionDAO.changeProductVersionStatus(name, version, newStatus);
+        boolean changed = productVersionDAO.changeProductVersionStatus(name, version, newStatus);
+        if (changed) {
+            listingsChanged.fire(new ListingsChangedEvent());
+        }
+        return changed;
     }
 }
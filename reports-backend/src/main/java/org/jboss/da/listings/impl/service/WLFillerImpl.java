@@ -22,6 +22,7 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -75,13 +76,16 @@ public class WLFillerImpl implements WLFiller {
             final GAV gav = new GAV(groupId, artifactId, version);
             Optional<InputStream> is = aprox.getPomStream(gav);
             if (is.isPresent()) {
-                MavenPomView view = analyzer.getMavenPomView(is.get());
-                fillWLFromPom(view, productId);
+                try (InputStream in = is.get()) {
+                    MavenPomView view = analyzer.getMavenPomView(in);
+                    fillWLFromPom(view, productId);
+                }
             } else {
                 log.error("POM with given GAV not found in indy " + gav);
                 return WLStatus.POM_NOT_FOUND;
             }
-        } catch (CommunicationException | ConfigurationParseException | GalleyMavenException e) {
+        } catch (CommunicationException | ConfigurationParseException | GalleyMavenException
+                | IOException e) {
             log.error(e.getMessage());
             return WLStatus.ANALYSER_ERROR;
         }
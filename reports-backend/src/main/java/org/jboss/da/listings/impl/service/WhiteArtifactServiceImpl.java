@@ -6,9 +6,13 @@ import java.util.List;
 import java.util.Optional;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
 import javax.inject.Inject;
 import org.jboss.da.common.version.SuffixedVersion;
 import org.jboss.da.common.version.VersionParser;
+import org.jboss.da.communication.aprox.api.AproxConnector;
 
 import org.jboss.da.listings.api.dao.ArtifactDAO;
 import org.jboss.da.listings.api.dao.GADAO;
@@ -18,6 +22,7 @@ import org.jboss.da.listings.api.model.GA;
 import org.jboss.da.listings.api.model.ProductVersion;
 import org.jboss.da.listings.api.model.WhiteArtifact;
 import org.jboss.da.listings.api.service.BlackArtifactService;
+import org.jboss.da.listings.api.service.ListingsChangedEvent;
 import org.jboss.da.listings.api.service.WhiteArtifactService;
 import org.jboss.da.model.rest.GAV;
 
@@ -42,6 +47,12 @@ public class WhiteArtifactServiceImpl extends ArtifactServiceImpl<WhiteArtifact>
     @Inject
     private ProductVersionDAO productVersionDAO;
 
+    @Inject
+    private AproxConnector aproxConnector;
+
+    @Inject
+    private Event<ListingsChangedEvent> listingsChanged;
+
     @Override
     protected ArtifactDAO<WhiteArtifact> getDAO() {
         return whiteArtifactDAO;
@@ -64,13 +75,23 @@ public class WhiteArtifactServiceImpl extends ArtifactServiceImpl<WhiteArtifact>
         if (p.getWhiteArtifacts().contains(artifact)) {
             return ArtifactStatus.NOT_MODIFIED;
         }
-        final GA ga = artifact.getGa();
 
         p.addArtifact(artifact);
         productVersionDAO.update(p);
+        listingsChanged.fire(new ListingsChangedEvent(new GAV(groupId, artifactId, version)));
         return ArtifactStatus.ADDED;
     }
 
+    /**
+     * Forgets that the metadata of newly whitelisted artifact were not found in the repository.
+     * Done after the commit, so that a concurrent lookup can't remember the metadata as missing
+     * again before the change is visible.
+     */
+    void onListingsChanged(
+            @Observes(during = TransactionPhase.AFTER_SUCCESS) ListingsChangedEvent event) {
+        event.getAddedArtifact().ifPresent(gav -> aproxConnector.invalidateNotFound(gav.getGA()));
+    }
+
     private WhiteArtifact createArtifact(String groupId, String artifactId, String version) {
         SuffixedVersion parsedVersion = versionParser.parse(version);
         final boolean is3rdParty = !parsedVersion.isSuffixed();
@@ -93,6 +114,7 @@ public class WhiteArtifactServiceImpl extends ArtifactServiceImpl<WhiteArtifact>
         if (a.isPresent()) {
             pv.removeArtifact(a.get());
             productVersionDAO.update(pv);
+            listingsChanged.fire(new ListingsChangedEvent());
             return true;
         }
         return false;
@@ -135,6 +157,7 @@ public class WhiteArtifactServiceImpl extends ArtifactServiceImpl<WhiteArtifact>
                 productVersionDAO.update(pv);
             }
             whiteArtifactDAO.delete(artifact.get());
+            listingsChanged.fire(new ListingsChangedEvent());
             return true;
         }
         return false;
@@ -0,0 +1,40 @@
+package org.jboss.da.products.api;
+
+import org.jboss.da.common.version.VersionParser;
+
+import java.util.Optional;
+
+import lombok.Data;
+
+/**
+ * Options of a single artifact lookup, used by product providers which search repositories.
+ */
+@Data
+public class LookupOptions {
+
+    public static final LookupOptions DEFAULT = new LookupOptions(Optional.empty(),
+            VersionParser.DEFAULT_SUFFIX);
+
+    /**
+     * Repository group to search instead of the default one.
+     */
+    private final Optional<String> repository;
+
+    /**
+     * Suffix that distinguish product artifacts in the repository.
+     */
+    private final String versionSuffix;
+
+    /**
+     * Creates lookup options, null or empty values mean the default repository and suffix.
+     *
+     * @param repository The repository to use instead of the default one.
+     * @param versionSuffix Suffix of the product artifacts.
+     */
+    public static LookupOptions of(String repository, String versionSuffix) {
+        Optional<String> repo = Optional.ofNullable(repository).filter(r -> !r.isEmpty());
+        String suffix = versionSuffix == null || versionSuffix.isEmpty() ? VersionParser.DEFAULT_SUFFIX
+                : versionSuffix;
+        return new LookupOptions(repo, suffix);
+    }
+}
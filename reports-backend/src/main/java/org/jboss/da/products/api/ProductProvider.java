@@ -2,9 +2,10 @@ package org.jboss.da.products.api;
 
 import org.jboss.da.listings.model.ProductSupportStatus;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Product Provider is used for providing information about products and their artifacts.
@@ -19,21 +20,21 @@ public interface ProductProvider {
      * Returns all known products.
      * @return Set of all products.
      */
-    Future<Set<Product>> getAllProducts();
+    CompletableFuture<Set<Product>> getAllProducts();
 
     /**
      * Get all products with given name.
      * @param name Name of the products.
      * @return Set of all products with given name.
      */
-    Future<Set<Product>> getProductsByName(String name);
+    CompletableFuture<Set<Product>> getProductsByName(String name);
 
     /**
      * Get all products with given support status.
      * @param status Support status of the products.
      * @return Set of all products with given support status.
      */
-    Future<Set<Product>> getProductsByStatus(ProductSupportStatus status);
+    CompletableFuture<Set<Product>> getProductsByStatus(ProductSupportStatus status);
 
     // Artifacts getters
     /**
@@ -41,7 +42,7 @@ public interface ProductProvider {
      * @param product Product containing the artifacts.
      * @return Set of all artifacts.
      */
-    Future<Set<Artifact>> getArtifacts(Product product);
+    CompletableFuture<Set<Artifact>> getArtifacts(Product product);
 
     /**
      * Get all artifacts with the same name and type as given artifact and their products.
@@ -49,7 +50,7 @@ public interface ProductProvider {
      * @param artifact artifact which name and type will be used for searching.
      * @return Set of products and their artifacts.
      */
-    Future<Set<ProductArtifacts>> getArtifacts(Artifact artifact);
+    CompletableFuture<Set<ProductArtifacts>> getArtifacts(Artifact artifact);
 
     /**
      * Get all artifacts with the same name and type as given artifact and their products, limited
@@ -59,7 +60,19 @@ public interface ProductProvider {
      * @param status Support status of the products.
      * @return Set of products and their artifacts.
      */
-    Future<Set<ProductArtifacts>> getArtifacts(Artifact artifact, ProductSupportStatus status);
+    CompletableFuture<Set<ProductArtifacts>> getArtifacts(Artifact artifact, ProductSupportStatus status);
+
+    /**
+     * Get all artifacts with the same name and type as each of given artifacts and their
+     * products. This is the batch variant of {@link #getArtifacts(Artifact)} and should be
+     * preferred when looking up many artifacts at once.
+     *
+     * @param artifacts artifacts which names and types will be used for searching.
+     * @param options options of the lookup, like repository and version suffix to use.
+     * @return Map from each of the given artifacts to set of products and their artifacts.
+     */
+    CompletableFuture<Map<Artifact, Set<ProductArtifacts>>> getArtifacts(
+            Collection<Artifact> artifacts, LookupOptions options);
 
     // Versions getters
     /**
@@ -68,6 +81,6 @@ public interface ProductProvider {
      * @param artifact artifact which name and type will be used for searching.
      * @return Set of products and their artifacts versions.
      */
-    Future<Map<Product, Set<String>>> getVersions(Artifact artifact);
+    CompletableFuture<Map<Product, Set<String>>> getVersions(Artifact artifact);
 
 }
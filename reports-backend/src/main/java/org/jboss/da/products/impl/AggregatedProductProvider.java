@@ -1,19 +1,25 @@
 package org.jboss.da.products.impl;
 
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.common.util.ConfigurationParseException;
 import org.jboss.da.listings.model.ProductSupportStatus;
 import org.jboss.da.products.api.Artifact;
+import org.jboss.da.products.api.LookupOptions;
 import org.jboss.da.products.api.Product;
 import org.jboss.da.products.api.ProductArtifacts;
 import org.jboss.da.products.api.ProductProvider;
 import org.jboss.da.products.impl.DatabaseProductProvider.Database;
 import org.jboss.da.products.impl.RepositoryProductProvider.Repository;
+import org.slf4j.Logger;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 import javax.enterprise.concurrent.ManagedScheduledExecutorService;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -21,8 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -32,6 +37,7 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  *
@@ -73,6 +79,23 @@ public class AggregatedProductProvider implements ProductProvider {
     @Resource
     private ManagedScheduledExecutorService scheduler;
 
+    @Inject
+    private Configuration configuration;
+
+    @Inject
+    private Logger log;
+
+    private long deadline;
+
+    @PostConstruct
+    public void init() {
+        try {
+            deadline = configuration.getConfig().getProductProviderDeadline();
+        } catch (ConfigurationParseException ex) {
+            log.warn("Couldn't read configuration, product providers have no deadline");
+        }
+    }
+
     @Override
     public CompletableFuture<Set<Product>> getAllProducts() {
         return aggregate(ProductProvider::getAllProducts, new SetCollector<>());
@@ -103,44 +126,56 @@ public class AggregatedProductProvider implements ProductProvider {
         return aggregate(x -> x.getArtifacts(artifact, status), new ProductArtifactsCollector());
     }
 
+    @Override
+    public CompletableFuture<Map<Artifact, Set<ProductArtifacts>>> getArtifacts(Collection<Artifact> artifacts, LookupOptions options) {
+        return aggregate(x -> x.getArtifacts(artifacts, options), new MapCol<>(AggregatedProductProvider::combineProductArtifacts));
+    }
+
     @Override
     public CompletableFuture<Map<Product, Set<String>>> getVersions(Artifact artifact) {
         return aggregate(x -> x.getVersions(artifact), new MapCol<>(AggregatedProductProvider::combineSets));
     }
 
-    private <R> CompletableFuture<R> aggregate(Function<ProductProvider, Future<R>> getter, Collector<? super R, ?, R> collector){
-        final List<Future<R>> results = new ArrayList<>();
-
-        results.add(getter.apply(databaseProductProvider));
-        results.add(getter.apply(repositoryProductProvider));
+    private <R> CompletableFuture<R> aggregate(Function<ProductProvider, CompletableFuture<R>> getter, Collector<? super R, ?, R> collector){
+        final List<CompletableFuture<R>> results = new ArrayList<>();
 
-        CompletableFuture<R> ret = new CompletableFuture<>();
-        scheduler.schedule((Runnable) () -> tryToComplete(ret, results, collector), 1, TimeUnit.MILLISECONDS);
+        results.add(withDeadline(getter.apply(databaseProductProvider), "Database", collector));
+        results.add(withDeadline(getter.apply(repositoryProductProvider), "Repository", collector));
 
-        return ret;
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[results.size()]))
+                .thenApply(x -> results.stream()
+                        .map(CompletableFuture::join)
+                        .collect(collector));
     }
 
     /**
-     * After all futures are completed, accumulate the results together. If they are not completed,
-     * wait for a while and check again
+     * When the provider doesn't complete the result before the deadline, returns empty result
+     * instead, so that partial aggregated result can be returned.
      */
-    private <R> void tryToComplete(CompletableFuture<R> ret, List<Future<R>> results, Collector<? super R, ?, R> collector) {
-        if (results.stream().allMatch(Future::isDone)) {
-            try {
-                List<R> resultList = new ArrayList<>();
-                for (Future<R> r : results) {
-                    resultList.add(r.get());
-                }
-                ret.complete(resultList.stream().collect(collector));
-            } catch (ExecutionException | RuntimeException ex) {
-                ret.completeExceptionally(ex);
-            } catch (InterruptedException ex) {
+    private <R> CompletableFuture<R> withDeadline(CompletableFuture<R> result, String provider, Collector<? super R, ?, R> collector) {
+        if (deadline <= 0 || result.isDone()) {
+            return result;
+        }
+
+        CompletableFuture<R> ret = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (ret.complete(empty(collector))) {
+                log.warn("{} product provider didn't finish in {} ms, returning partial results.", provider, deadline);
+            }
+        }, deadline, TimeUnit.MILLISECONDS);
+        result.whenComplete((r, ex) -> {
+            timeout.cancel(false);
+            if (ex == null) {
+                ret.complete(r);
+            } else {
                 ret.completeExceptionally(ex);
-                Thread.currentThread().interrupt();
             }
-        } else {
-            scheduler.schedule((Runnable) () -> tryToComplete(ret, results, collector), 1, TimeUnit.MILLISECONDS);
-        }
+        });
+        return ret;
+    }
+
+    private static <R, A> R empty(Collector<? super R, A, R> collector) {
+        return collector.finisher().apply(collector.supplier().get());
     }
 
     private static <R> Set<R> combineSets(Set<R> x, Set<R> y) {
@@ -149,6 +184,11 @@ public class AggregatedProductProvider implements ProductProvider {
         return r;
     }
 
+    private static Set<ProductArtifacts> combineProductArtifacts(Set<ProductArtifacts> x,
+            Set<ProductArtifacts> y) {
+        return Stream.of(x, y).collect(new ProductArtifactsCollector());
+    }
+
     private static class ProductArtifactsCollector
             implements
             Collector<Set<ProductArtifacts>, HashMap<Product, ProductArtifacts>, Set<ProductArtifacts>> {
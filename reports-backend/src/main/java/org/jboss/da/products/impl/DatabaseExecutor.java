@@ -0,0 +1,95 @@
+package org.jboss.da.products.impl;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.common.util.ConfigurationParseException;
+import org.jboss.da.metrics.MetricsConfiguration;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor running the database queries of {@link DatabaseProductProvider}. The queries block
+ * until the database answers, so they must not run on the common fork join pool. The number of
+ * threads is bounded and should match the size of the datasource connection pool, as more
+ * threads would only wait for a free connection. The threads are created by the container, so
+ * the queries run in the managed context.
+ */
+@ApplicationScoped
+public class DatabaseExecutor implements Executor {
+
+    private static final String METRICS_KEY = "da.products.db.executor";
+
+    @Resource
+    private ManagedThreadFactory threadFactory;
+
+    @Inject
+    private Configuration configuration;
+
+    @Inject
+    private MetricsConfiguration metricsConfiguration;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        DAConfig config;
+        try {
+            config = configuration.getConfig();
+        } catch (ConfigurationParseException ex) {
+            throw new IllegalStateException(
+                    "Configuration failure, can't configure database executor", ex);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        int poolSize = config.getDatabaseExecutorPoolSize();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getDatabaseExecutorQueueSize()), r -> {
+                    Thread thread = threadFactory.newThread(r);
+                    thread.setName("da-db-provider-" + threadNumber.incrementAndGet());
+                    return thread;
+                }, (r, e) -> {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("Database executor queue is full");
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        MetricRegistry registry = metricsConfiguration.getMetricRegistry();
+        if (registry == null) {
+            return;
+        }
+        registry.register(METRICS_KEY + ".queue", (Gauge<Integer>) () -> executor.getQueue().size());
+        registry.register(METRICS_KEY + ".active", (Gauge<Integer>) executor::getActiveCount);
+        registry.register(METRICS_KEY + ".rejected", (Gauge<Long>) rejected::get);
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+}
@@ -9,6 +9,7 @@ import org.jboss.da.model.rest.GA;
 import org.jboss.da.model.rest.GAV;
 import org.jboss.da.products.api.Artifact;
 import org.jboss.da.products.api.ArtifactType;
+import org.jboss.da.products.api.LookupOptions;
 import org.jboss.da.products.api.MavenArtifact;
 import org.jboss.da.products.api.Product;
 import org.jboss.da.products.api.ProductArtifacts;
@@ -27,10 +28,13 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import java.lang.annotation.Target;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -44,6 +48,12 @@ public class DatabaseProductProvider implements ProductProvider {
     @Inject
     private ProductVersionDAO productVersionDAO;
 
+    @Inject
+    private DatabaseExecutor executor;
+
+    @Inject
+    private WhitelistIndex whitelistIndex;
+
     @Override
     public CompletableFuture<Set<Product>> getAllProducts() {
         return getProductsAsync(() -> productVersionDAO.findAll());
@@ -61,7 +71,7 @@ public class DatabaseProductProvider implements ProductProvider {
 
     @Override
     public CompletableFuture<Set<Artifact>> getArtifacts(Product product) {
-        return CompletableFuture.supplyAsync(() -> _getArtifacts(product));
+        return supplyAsync(() -> _getArtifacts(product));
     }
 
     private Set<Artifact> _getArtifacts(Product product) {
@@ -78,8 +88,7 @@ public class DatabaseProductProvider implements ProductProvider {
             return CompletableFuture.completedFuture(Collections.emptySet());
         }
         GA ga = ((MavenArtifact) artifact).getGav().getGA();
-        return CompletableFuture.supplyAsync(() -> getArtifacts(ga.getGroupId(), ga.getArtifactId(),
-                Optional.empty()));
+        return getArtifacts(ga, Optional.empty());
     }
 
     @Override
@@ -88,8 +97,39 @@ public class DatabaseProductProvider implements ProductProvider {
             return CompletableFuture.completedFuture(Collections.emptySet());
         }
         GA ga = ((MavenArtifact) artifact).getGav().getGA();
-        return CompletableFuture.supplyAsync(() -> getArtifacts(ga.getGroupId(), ga.getArtifactId(),
-                Optional.of(status)));
+        return getArtifacts(ga, Optional.of(status));
+    }
+
+    @Override
+    public CompletableFuture<Map<Artifact, Set<ProductArtifacts>>> getArtifacts(
+            Collection<Artifact> artifacts, LookupOptions options) {
+        Map<GA, List<Artifact>> artifactsByGA = artifacts.stream()
+                .filter(a -> a.getType() == ArtifactType.MAVEN)
+                .collect(Collectors.groupingBy(a -> ((MavenArtifact) a).getGav().getGA()));
+
+        Optional<Map<GA, Set<ProductArtifacts>>> snapshot = whitelistIndex.getSnapshot();
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(toArtifactsMap(artifacts, artifactsByGA,
+                    snapshot.get()));
+        }
+        return supplyAsync(() -> toArtifactsMap(artifacts, artifactsByGA,
+                findArtifacts(artifactsByGA.keySet())));
+    }
+
+    private static Map<Artifact, Set<ProductArtifacts>> toArtifactsMap(
+            Collection<Artifact> artifacts, Map<GA, List<Artifact>> artifactsByGA,
+            Map<GA, Set<ProductArtifacts>> found) {
+        Map<Artifact, Set<ProductArtifacts>> ret = new HashMap<>();
+        for (Artifact artifact : artifacts) {
+            ret.put(artifact, Collections.emptySet());
+        }
+        for (Map.Entry<GA, List<Artifact>> e : artifactsByGA.entrySet()) {
+            Set<ProductArtifacts> pas = found.getOrDefault(e.getKey(), Collections.emptySet());
+            for (Artifact artifact : e.getValue()) {
+                ret.put(artifact, pas);
+            }
+        }
+        return ret;
     }
 
     @Override
@@ -98,35 +138,88 @@ public class DatabaseProductProvider implements ProductProvider {
             return CompletableFuture.completedFuture(Collections.emptyMap());
         }
         GA ga = ((MavenArtifact) artifact).getGav().getGA();
-        return CompletableFuture.supplyAsync(() -> getArtifacts(ga.getGroupId(), ga.getArtifactId(), Optional.empty()).stream()
+        return getArtifacts(ga, Optional.empty()).thenApply(pas -> pas.stream()
                 .collect(Collectors.toMap(ProductArtifacts::getProduct,
                         x -> x.getArtifacts().stream()
                                 .map(Artifact::getVersion)
                                 .collect(Collectors.toSet()))));
     }
 
+    /**
+     * Answers from the whitelist index when it is available, otherwise queries the database.
+     */
+    private CompletableFuture<Set<ProductArtifacts>> getArtifacts(GA ga, Optional<ProductSupportStatus> st) {
+        Optional<Map<GA, Set<ProductArtifacts>>> snapshot = whitelistIndex.getSnapshot();
+        if (snapshot.isPresent()) {
+            Set<ProductArtifacts> pas = snapshot.get().getOrDefault(ga, Collections.emptySet());
+            if (st.isPresent()) {
+                pas = pas.stream()
+                        .filter(pa -> pa.getProduct().getStatus() == st.get())
+                        .collect(Collectors.toSet());
+            }
+            return CompletableFuture.completedFuture(pas);
+        }
+        return supplyAsync(() -> getArtifacts(ga.getGroupId(), ga.getArtifactId(), st));
+    }
+
     private Set<ProductArtifacts> getArtifacts(final String groupId, final String artifactId, final Optional<ProductSupportStatus> st) {
-        return productVersionDAO.findProductVersionsWithArtifactsByGAStatus(groupId, artifactId, st).stream()
-                .map(DatabaseProductProvider::toProductArtifacts)
-                .collect(Collectors.toSet());
+        return toProductArtifacts(productVersionDAO.findProductVersionsWithArtifactsByGAStatus(groupId, artifactId, st));
+    }
+
+    private Map<GA, Set<ProductArtifacts>> findArtifacts(Set<GA> gas) {
+        if (gas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<org.jboss.da.listings.api.model.GA> query = gas.stream()
+                .map(ga -> new org.jboss.da.listings.api.model.GA(ga.getGroupId(), ga.getArtifactId()))
+                .collect(Collectors.toList());
+        Map<GA, List<ProductVersionArtifactRelationship>> pvarsByGA = productVersionDAO
+                .findProductVersionsWithArtifactsByGAs(query, Optional.empty()).stream()
+                .collect(Collectors.groupingBy(pvar -> toGA(pvar.getArtifact())));
+
+        Map<GA, Set<ProductArtifacts>> ret = new HashMap<>();
+        for (Map.Entry<GA, List<ProductVersionArtifactRelationship>> e : pvarsByGA.entrySet()) {
+            ret.put(e.getKey(), toProductArtifacts(e.getValue()));
+        }
+        return ret;
     }
 
     private CompletableFuture<Set<Product>> getProductsAsync(final Supplier<Collection<ProductVersion>> productsSupplier) {
-        return CompletableFuture.supplyAsync(productsSupplier).thenApply(pvs -> pvs.stream()
+        return supplyAsync(productsSupplier).thenApply(pvs -> pvs.stream()
                 .map(DatabaseProductProvider::toProduct)
                 .collect(Collectors.toSet()));
     }
 
-    private static Product toProduct(ProductVersion p) {
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException ex) {
+            CompletableFuture<T> ret = new CompletableFuture<>();
+            ret.completeExceptionally(new ProductException("Too many pending database queries", ex));
+            return ret;
+        }
+    }
+
+    static Product toProduct(ProductVersion p) {
         return new Product(p.getProduct().getName(), p.getProductVersion(), p.getSupport());
     }
 
-    private static ProductArtifacts toProductArtifacts(ProductVersionArtifactRelationship pvar) {
-        return new ProductArtifacts(toProduct(pvar.getProductVersion()),
-                Collections.singleton(toArtifact(pvar.getArtifact())));
+    private static Set<ProductArtifacts> toProductArtifacts(
+            Collection<ProductVersionArtifactRelationship> pvars) {
+        return pvars.stream()
+                .collect(Collectors.groupingBy(pvar -> toProduct(pvar.getProductVersion()),
+                        Collectors.mapping(pvar -> toArtifact(pvar.getArtifact()),
+                                Collectors.toSet())))
+                .entrySet().stream()
+                .map(e -> new ProductArtifacts(e.getKey(), e.getValue()))
+                .collect(Collectors.toSet());
+    }
+
+    static GA toGA(WhiteArtifact a) {
+        return new GA(a.getGa().getGroupId(), a.getGa().getArtifactId());
     }
 
-    private static Artifact toArtifact(WhiteArtifact a) {
+    static Artifact toArtifact(WhiteArtifact a) {
         final org.jboss.da.listings.api.model.GA ga = a.getGa();
         return new MavenArtifact(
                 new GAV(a.getGa().getGroupId(), ga.getArtifactId(), a.getVersion()));
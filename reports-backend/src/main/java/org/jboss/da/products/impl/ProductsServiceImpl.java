@@ -45,7 +45,7 @@ public class ProductsServiceImpl implements ProductsService {
                 .collect(Collectors.toMap(WhiteArtifact::getGa, WhiteArtifact::getOsgiVersion));
         Set<ArtifactDiff> ret = new HashSet<>();
 
-        VersionComparator comparator = new VersionComparator(new VersionParser(VersionParser.DEFAULT_SUFFIX));
+        VersionComparator comparator = new VersionComparator(VersionParser.getParser(VersionParser.DEFAULT_SUFFIX));
         for(GA ga : allGAs){
             String leftVersion = leftGAs.get(ga);
             String rightVersion = rightGAs.get(ga);
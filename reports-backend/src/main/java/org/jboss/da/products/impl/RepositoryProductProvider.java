@@ -1,13 +1,14 @@
 package org.jboss.da.products.impl;
 
-import org.jboss.da.common.CommunicationException;
 import org.jboss.da.common.version.VersionParser;
 import org.jboss.da.communication.aprox.api.AproxConnector;
+import org.jboss.da.communication.repository.api.RequestRejectedException;
 import org.jboss.da.listings.model.ProductSupportStatus;
 import static org.jboss.da.listings.model.ProductSupportStatus.UNKNOWN;
 import org.jboss.da.model.rest.GA;
 import org.jboss.da.model.rest.GAV;
 import org.jboss.da.products.api.Artifact;
+import org.jboss.da.products.api.LookupOptions;
 import org.jboss.da.products.api.MavenArtifact;
 import org.jboss.da.products.api.NPMArtifact;
 import org.jboss.da.products.api.Product;
@@ -16,10 +17,8 @@ import org.jboss.da.products.api.ProductProvider;
 import org.jboss.da.products.impl.RepositoryProductProvider.Repository;
 import org.slf4j.Logger;
 
-import javax.annotation.Resource;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
-import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.inject.Inject;
 import javax.inject.Qualifier;
 
@@ -30,18 +29,19 @@ import static java.lang.annotation.ElementType.TYPE;
 import java.lang.annotation.Retention;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import java.lang.annotation.Target;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Supplier;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.ApplicationScoped;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  *
@@ -49,7 +49,7 @@ import java.util.Optional;
  */
 @Repository
 @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
-@RequestScoped
+@ApplicationScoped
 public class RepositoryProductProvider implements ProductProvider {
 
     @Inject
@@ -58,34 +58,6 @@ public class RepositoryProductProvider implements ProductProvider {
     @Inject
     private AproxConnector aproxConnector;
 
-    @Resource
-    private ManagedExecutorService executorService;
-
-    private VersionParser versionParser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
-
-    private Optional<String> repository = Optional.empty();
-
-    /**
-     * Sets given repository to be used instead of the default one.
-     *
-     * @param repository The repository to use insteady of the default one.
-     */
-    public void setRepository(String repository) {
-        this.repository = Optional.ofNullable(repository);
-    }
-
-    /**
-     * Sets the suffix that distinguish product artifacts in the repository.
-     * @param suffix Suffix of the product artifacts.
-     */
-    public void setVersionSuffix(String suffix) {
-        versionParser = new VersionParser(suffix);
-    }
-
-    private <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier) {
-        return CompletableFuture.supplyAsync(supplier, executorService);
-    }
-
     @Override
     public CompletableFuture<Set<Product>> getAllProducts() {
         return CompletableFuture.completedFuture(Collections.emptySet());
@@ -108,7 +80,7 @@ public class RepositoryProductProvider implements ProductProvider {
 
     @Override
     public CompletableFuture<Set<ProductArtifacts>> getArtifacts(Artifact artifact) {
-        return getArtifacts0(artifact);
+        return getArtifacts0(artifact, LookupOptions.DEFAULT);
     }
 
     @Override
@@ -117,7 +89,19 @@ public class RepositoryProductProvider implements ProductProvider {
         if (status != UNKNOWN) {
             return CompletableFuture.completedFuture(Collections.emptySet());
         }
-        return getArtifacts0(artifact);
+        return getArtifacts0(artifact, LookupOptions.DEFAULT);
+    }
+
+    @Override
+    public CompletableFuture<Map<Artifact, Set<ProductArtifacts>>> getArtifacts(
+            Collection<Artifact> artifacts, LookupOptions options) {
+        Map<Artifact, CompletableFuture<Set<ProductArtifacts>>> futures = new HashMap<>();
+        for (Artifact artifact : artifacts) {
+            futures.computeIfAbsent(artifact, a -> getArtifacts0(a, options));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[futures.size()]))
+                .thenApply(x -> futures.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().join())));
     }
 
     @Override
@@ -125,14 +109,12 @@ public class RepositoryProductProvider implements ProductProvider {
         switch (artifact.getType()) {
             case MAVEN: {
                 GA ga = ((MavenArtifact) artifact).getGav().getGA();
-                CompletableFuture<Set<String>> versions = supplyAsync(
-                        () -> getVersionsStreamMaven(ga).collect(Collectors.toSet()));
-                return versions.thenApply(rv -> Collections.singletonMap(Product.UNKNOWN, rv));
+                return getVersionsStreamMaven(ga, LookupOptions.DEFAULT).thenApply(
+                        vs -> Collections.singletonMap(Product.UNKNOWN, vs.collect(Collectors.toSet())));
             }
             case NPM: {
-                CompletableFuture<Set<String>> versions = supplyAsync(
-                        () -> getVersionsStreamNPM(artifact.getName()).collect(Collectors.toSet()));
-                return versions.thenApply(rv -> Collections.singletonMap(Product.UNKNOWN, rv));
+                return getVersionsStreamNPM(artifact.getName(), LookupOptions.DEFAULT).thenApply(
+                        vs -> Collections.singletonMap(Product.UNKNOWN, vs.collect(Collectors.toSet())));
             }
             default: {
                 return CompletableFuture.completedFuture(Collections.emptyMap());
@@ -140,14 +122,18 @@ public class RepositoryProductProvider implements ProductProvider {
         }
     }
 
-    private CompletableFuture<Set<ProductArtifacts>> getArtifacts0(Artifact artifact) {
+    private CompletableFuture<Set<ProductArtifacts>> getArtifacts0(Artifact artifact,
+            LookupOptions options) {
         switch (artifact.getType()) {
             case MAVEN: {
                 GA ga = ((MavenArtifact) artifact).getGav().getGA();
-                return supplyAsync(() -> getArtifactsMaven(ga));
+                return getVersionsStreamMaven(ga, options).thenApply(
+                        vs -> getArtifactsMaven(ga, vs));
             }
             case NPM: {
-                return supplyAsync(() -> getArtifactsNPM(artifact.getName()));
+                String name = artifact.getName();
+                return getVersionsStreamNPM(name, options).thenApply(
+                        vs -> getArtifactsNPM(name, vs));
             }
             default: {
                 return CompletableFuture.completedFuture(Collections.emptySet());
@@ -155,8 +141,8 @@ public class RepositoryProductProvider implements ProductProvider {
         }
     }
 
-    private Set<ProductArtifacts> getArtifactsMaven(GA ga) {
-        Set<Artifact> allArtifacts = getVersionsStreamMaven(ga)
+    private Set<ProductArtifacts> getArtifactsMaven(GA ga, Stream<String> versions) {
+        Set<Artifact> allArtifacts = versions
                 .map(x -> new GAV(ga, x))
                 .map(MavenArtifact::new)
                 .collect(Collectors.toSet());
@@ -166,8 +152,8 @@ public class RepositoryProductProvider implements ProductProvider {
         return Collections.singleton(new ProductArtifacts(Product.UNKNOWN, allArtifacts));
     }
 
-    private Set<ProductArtifacts> getArtifactsNPM(String name) {
-        Set<Artifact> allArtifacts = getVersionsStreamNPM(name)
+    private Set<ProductArtifacts> getArtifactsNPM(String name, Stream<String> versions) {
+        Set<Artifact> allArtifacts = versions
                 .map(v -> new NPMArtifact(name, v))
                 .collect(Collectors.toSet());
         if (allArtifacts.isEmpty()) {
@@ -176,40 +162,57 @@ public class RepositoryProductProvider implements ProductProvider {
         return Collections.singleton(new ProductArtifacts(Product.UNKNOWN, allArtifacts));
     }
 
-    private Stream<String> getVersionsStreamMaven(GA ga) {
+    private CompletableFuture<Stream<String>> getVersionsStreamMaven(GA ga, LookupOptions options) {
         if (!ga.isValid()) {
             log.warn("Received nonvalid GA: " + ga);
-            return Stream.empty();
+            return CompletableFuture.completedFuture(Stream.empty());
         }
-        try {
-            List<String> versionsOfGA;
-            if (repository.isPresent()) {
-                versionsOfGA = aproxConnector.getVersionsOfGA(ga, repository.get());
-            } else {
-                versionsOfGA = aproxConnector.getVersionsOfGA(ga);
-            }
-            return versionsOfGA.stream()
-                    .filter(v -> versionParser.parse(v).isSuffixed())
-                    .distinct();
-        } catch (CommunicationException ex) {
-            throw new ProductException(ex);
+        CompletableFuture<List<String>> versionsOfGA;
+        if (options.getRepository().isPresent()) {
+            versionsOfGA = aproxConnector.getVersionsOfGAAsync(ga, options.getRepository().get());
+        } else {
+            versionsOfGA = aproxConnector.getVersionsOfGAAsync(ga);
         }
+        return suffixedVersions(versionsOfGA, options);
     }
 
-    private Stream<String> getVersionsStreamNPM(String name) {
-        try {
-            List<String> versionsOfGA;
-            if (repository.isPresent()) {
-                versionsOfGA = aproxConnector.getVersionsOfNpm(name, repository.get());
-            } else {
-                versionsOfGA = aproxConnector.getVersionsOfNpm(name);
+    private CompletableFuture<Stream<String>> getVersionsStreamNPM(String name,
+            LookupOptions options) {
+        CompletableFuture<List<String>> versionsOfGA;
+        if (options.getRepository().isPresent()) {
+            versionsOfGA = aproxConnector.getVersionsOfNpmAsync(name, options.getRepository().get());
+        } else {
+            versionsOfGA = aproxConnector.getVersionsOfNpmAsync(name);
+        }
+        return suffixedVersions(versionsOfGA, options);
+    }
+
+    private CompletableFuture<Stream<String>> suffixedVersions(
+            CompletableFuture<List<String>> versions, LookupOptions options) {
+        final VersionParser parser = VersionParser.getParser(options.getVersionSuffix());
+        return versions.handle((vs, ex) -> {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                if (isRejected(cause)) {
+                    log.warn("Repository is overloaded, versions will be missing in the result: "
+                            + cause.getMessage());
+                    return Stream.empty();
+                }
+                throw new ProductException(cause);
             }
-            return versionsOfGA.stream()
-                    .filter(v -> versionParser.parse(v).isSuffixed())
+            return vs.stream()
+                    .filter(v -> parser.parse(v).isSuffixed())
                     .distinct();
-        } catch (CommunicationException ex) {
-            throw new ProductException(ex);
+        });
+    }
+
+    private static boolean isRejected(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof RequestRejectedException) {
+                return true;
+            }
         }
+        return false;
     }
 
     @Qualifier
@@ -0,0 +1,129 @@
+package org.jboss.da.products.impl;
+
+import org.jboss.da.listings.api.dao.ProductVersionDAO;
+import org.jboss.da.listings.api.model.ProductVersion;
+import org.jboss.da.listings.api.model.WhiteArtifact;
+import org.jboss.da.listings.api.service.ListingsChangedEvent;
+import org.jboss.da.model.rest.GA;
+import org.jboss.da.products.api.Artifact;
+import org.jboss.da.products.api.Product;
+import org.jboss.da.products.api.ProductArtifacts;
+import org.slf4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of the whitelisted artifacts, mapping GA to the products containing the
+ * artifacts with that GA. The index is immutable and is built when the application starts. When
+ * the listings change, the index is dropped and a new one is built in the background; until it
+ * is ready, no snapshot is provided and the lookups have to query the database.
+ */
+@ApplicationScoped
+public class WhitelistIndex {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private ProductVersionDAO productVersionDAO;
+
+    @Inject
+    private DatabaseExecutor executor;
+
+    private final AtomicBoolean buildScheduled = new AtomicBoolean();
+
+    private long generation;
+
+    private volatile Map<GA, Set<ProductArtifacts>> index;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        rebuild();
+    }
+
+    void onListingsChanged(
+            @Observes(during = TransactionPhase.AFTER_SUCCESS) ListingsChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Returns the current snapshot of the index, or empty when the index is being rebuilt.
+     */
+    public Optional<Map<GA, Set<ProductArtifacts>>> getSnapshot() {
+        return Optional.ofNullable(index);
+    }
+
+    /**
+     * Drops the current index and schedules build of a new one. When a build is already waiting
+     * for execution, no other build is scheduled, so a burst of changes causes single rebuild.
+     */
+    void rebuild() {
+        synchronized (this) {
+            generation++;
+            index = null;
+        }
+        if (buildScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::build);
+            } catch (RejectedExecutionException ex) {
+                buildScheduled.set(false);
+                log.warn("Couldn't schedule rebuild of the whitelist index, it will be rebuilt "
+                        + "on the next change of the listings.", ex);
+            }
+        }
+    }
+
+    private void build() {
+        buildScheduled.set(false);
+        long buildGeneration;
+        synchronized (this) {
+            buildGeneration = generation;
+        }
+        try {
+            Map<GA, Set<ProductArtifacts>> built = buildIndex(productVersionDAO.findAll());
+            synchronized (this) {
+                // when the listings changed during the build, newer build is already scheduled
+                if (generation == buildGeneration) {
+                    index = built;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to build the whitelist index.", ex);
+        }
+    }
+
+    static Map<GA, Set<ProductArtifacts>> buildIndex(Collection<ProductVersion> productVersions) {
+        Map<GA, Map<Product, Set<Artifact>>> artifacts = new HashMap<>();
+        for (ProductVersion pv : productVersions) {
+            Product product = DatabaseProductProvider.toProduct(pv);
+            for (WhiteArtifact wa : pv.getWhiteArtifacts()) {
+                artifacts.computeIfAbsent(DatabaseProductProvider.toGA(wa), k -> new HashMap<>())
+                        .computeIfAbsent(product, k -> new HashSet<>())
+                        .add(DatabaseProductProvider.toArtifact(wa));
+            }
+        }
+
+        Map<GA, Set<ProductArtifacts>> ret = new HashMap<>();
+        for (Map.Entry<GA, Map<Product, Set<Artifact>>> e : artifacts.entrySet()) {
+            ret.put(e.getKey(), Collections.unmodifiableSet(e.getValue().entrySet().stream()
+                    .map(pa -> new ProductArtifacts(pa.getKey(),
+                            Collections.unmodifiableSet(pa.getValue())))
+                    .collect(Collectors.toSet())));
+        }
+        return Collections.unmodifiableMap(ret);
+    }
+}
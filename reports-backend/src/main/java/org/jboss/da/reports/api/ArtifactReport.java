@@ -2,7 +2,10 @@ package org.jboss.da.reports.api;
 
 import org.jboss.da.model.rest.GAV;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -41,6 +44,17 @@ public class ArtifactReport implements Comparable<ArtifactReport> {
     @NonNull
     private final Set<ArtifactReport> dependencies = new TreeSet<>();
 
+    /**
+     * Reports having this artifact as a dependency, their cached counts depend on this report.
+     */
+    private final List<ArtifactReport> dependents = new ArrayList<>(1);
+
+    /**
+     * Cached number of not built dependencies, null when not computed yet or invalidated. When
+     * the count of a report is cached, the counts of all its dependencies are cached too.
+     */
+    private Integer notBuiltDependencies;
+
     /**
      * Indicator if the artifact was blacklisted
      */
@@ -57,10 +71,15 @@ public class ArtifactReport implements Comparable<ArtifactReport> {
 
     public void setBestMatchVersion(Optional<String> version) {
         bestMatchVersion = version;
+        invalidateDependents();
     }
 
     public void addDependency(ArtifactReport dependency) {
-        dependencies.add(dependency);
+        if (dependencies.add(dependency)) {
+            dependency.dependents.add(this);
+            notBuiltDependencies = null;
+            invalidateDependents();
+        }
     }
 
     public List<String> getAvailableVersions() {
@@ -91,14 +110,63 @@ public class ArtifactReport implements Comparable<ArtifactReport> {
         return getNotBuiltDependencies() == 0;
     }
 
+    /**
+     * Returns the number of transitive dependencies of this artifact that don't have a GAV in
+     * PNC/Brew. The counts are computed for the whole subtree at once and cached on the reports.
+     */
     public int getNotBuiltDependencies() {
-        return dependencies.stream().mapToInt((dependency) -> {
-            int number = dependency.getNotBuiltDependencies();
-            if(!dependency.bestMatchVersion.isPresent()){
-                number ++;
+        if (notBuiltDependencies == null) {
+            computeNotBuiltDependencies();
+        }
+        return notBuiltDependencies;
+    }
+
+    /**
+     * Computes the counts of not built dependencies in one post-order pass over the reports
+     * without cached count. Uses explicit stack, so deep dependency trees don't overflow the
+     * thread stack.
+     */
+    private void computeNotBuiltDependencies() {
+        List<ArtifactReport> preOrder = new ArrayList<>();
+        Deque<ArtifactReport> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            ArtifactReport report = stack.pop();
+            preOrder.add(report);
+            for (ArtifactReport dependency : report.dependencies) {
+                if (dependency.notBuiltDependencies == null) {
+                    stack.push(dependency);
+                }
+            }
+        }
+
+        // in reversed pre-order all dependencies are processed before the report itself
+        for (int i = preOrder.size() - 1; i >= 0; i--) {
+            ArtifactReport report = preOrder.get(i);
+            int number = 0;
+            for (ArtifactReport dependency : report.dependencies) {
+                number += dependency.notBuiltDependencies;
+                if (!dependency.bestMatchVersion.isPresent()) {
+                    number++;
+                }
+            }
+            report.notBuiltDependencies = number;
+        }
+    }
+
+    /**
+     * Drops the cached counts of all reports depending on this one. The walk stops at reports
+     * without cached count, as their dependents can't have the count cached either.
+     */
+    private void invalidateDependents() {
+        Deque<ArtifactReport> stack = new ArrayDeque<>(dependents);
+        while (!stack.isEmpty()) {
+            ArtifactReport report = stack.pop();
+            if (report.notBuiltDependencies != null) {
+                report.notBuiltDependencies = null;
+                stack.addAll(report.dependents);
             }
-            return number;
-        }).sum();
+        }
     }
 
     @Override
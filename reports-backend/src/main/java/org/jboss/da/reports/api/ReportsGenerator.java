@@ -4,6 +4,7 @@ import org.apache.maven.scm.ScmException;
 import org.jboss.da.common.CommunicationException;
 import org.jboss.da.communication.aprox.FindGAVDependencyException;
 import org.jboss.da.communication.pom.PomAnalysisException;
+import org.jboss.da.model.rest.GA;
 import org.jboss.da.reports.model.api.SCMLocator;
 import org.jboss.da.reports.model.request.GAVRequest;
 import org.jboss.da.reports.model.request.LookupGAVsRequest;
@@ -13,8 +14,10 @@ import org.jboss.da.reports.model.response.LookupReport;
 import org.jboss.da.reports.model.response.NPMLookupReport;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  *
@@ -78,6 +81,17 @@ public interface ReportsGenerator {
     public List<LookupReport> getLookupReportsForGavs(LookupGAVsRequest request)
             throws CommunicationException;
 
+    /**
+     * Looks up the GAVs like {@link #getLookupReportsForGavs(LookupGAVsRequest)}, but passes each
+     * report to the consumer as soon as the lookup of its GA completes, so the reports come in
+     * the order of completion. The number of GAs looked up concurrently is bounded. The consumer
+     * is called on the calling thread.
+     *
+     * @return GAs which lookup failed, with the reason of the failure
+     */
+    public Map<GA, String> streamLookupReportsForGavs(LookupGAVsRequest request,
+            Consumer<LookupReport> consumer) throws CommunicationException;
+
     public List<NPMLookupReport> getLookupReports(LookupNPMRequest request)
             throws CommunicationException;
 
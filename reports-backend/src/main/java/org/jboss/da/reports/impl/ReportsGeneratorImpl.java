@@ -6,6 +6,9 @@ import static org.jboss.da.listings.model.ProductSupportStatus.SUPPORTED;
 
 import org.apache.maven.scm.ScmException;
 import org.jboss.da.common.CommunicationException;
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.common.util.ConfigurationParseException;
 import org.jboss.da.common.version.VersionParser;
 import org.jboss.da.communication.aprox.FindGAVDependencyException;
 import org.jboss.da.communication.aprox.model.GAVDependencyTree;
@@ -16,6 +19,8 @@ import org.jboss.da.listings.api.service.BlackArtifactService;
 import org.jboss.da.listings.model.rest.RestProductInput;
 import org.jboss.da.model.rest.GA;
 import org.jboss.da.model.rest.GAV;
+import org.jboss.da.products.api.Artifact;
+import org.jboss.da.products.api.LookupOptions;
 import org.jboss.da.products.api.Product;
 import static org.jboss.da.products.api.Product.UNKNOWN;
 import org.jboss.da.products.api.ProductArtifacts;
@@ -36,6 +41,7 @@ import org.jboss.da.scm.api.SCM;
 import org.jboss.da.scm.api.SCMType;
 import org.slf4j.Logger;
 
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -45,13 +51,19 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -61,8 +73,6 @@ import org.jboss.da.common.version.VersionComparator;
 import org.jboss.da.model.rest.NPMPackage;
 import org.jboss.da.products.api.MavenArtifact;
 import org.jboss.da.products.api.NPMArtifact;
-import org.jboss.da.products.impl.RepositoryProductProvider;
-import org.jboss.da.products.impl.RepositoryProductProvider.Repository;
 import org.jboss.da.reports.model.request.LookupNPMRequest;
 import org.jboss.da.reports.model.response.NPMLookupReport;
 
@@ -76,6 +86,12 @@ import org.jboss.da.reports.model.response.NPMLookupReport;
 @ApplicationScoped
 public class ReportsGeneratorImpl implements ReportsGenerator {
 
+    /**
+     * Number of GAs looked up by a single call of the product provider when the lookup results
+     * are streamed. Small enough that the first reports are streamed soon.
+     */
+    private static final int LOOKUP_BATCH_SIZE = 20;
+
     @Inject
     private Logger log;
 
@@ -98,12 +114,26 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
     private AggregatedProductProvider productProvider;
 
     @Inject
-    @Repository
-    private RepositoryProductProvider repositoryProductProvider;
+    private Configuration configuration;
 
     @Inject
     private ProductAdapter productAdapter;
 
+    private int lookupMaxInFlight = 100;
+
+    private long lookupTimeout = 600000;
+
+    @PostConstruct
+    public void init() {
+        try {
+            DAConfig config = configuration.getConfig();
+            lookupMaxInFlight = config.getLookupStreamingMaxInFlight();
+            lookupTimeout = config.getLookupStreamingTimeout();
+        } catch (ConfigurationParseException ex) {
+            log.warn("Couldn't read configuration, using default limits of streamed lookups");
+        }
+    }
+
     @Override
     public Optional<ArtifactReport> getReportFromSCM(SCMReportRequest scml) throws ScmException,
             PomAnalysisException, CommunicationException {
@@ -138,8 +168,15 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
         nodesVisited.add(dt);
         addDependencyReports(report, dt.getDependencies(), nodesVisited);
 
+        Set<GAV> allGAVs = new HashSet<>();
+        collectGAVs(report, allGAVs);
+        Set<GA> allGAs = allGAVs.stream().map(GAV::getGA).collect(Collectors.toSet());
+        Map<GA, Set<ProductArtifacts>> allArtifacts = getArtifactsPerGA(allGAs,
+                LookupOptions.DEFAULT);
+        Set<GAV> blacklisted = blackArtifactService.findBlacklisted(allGAVs);
+
         List<CompletableFuture<Void>> futures = new ArrayList<>();
-        traverseAndFill(report, products, futures);
+        traverseAndFill(report, new ReportLookups(products, allArtifacts, blacklisted), futures);
 
         joinFutures(futures);
 
@@ -161,25 +198,29 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
         }
     }
 
-    private void traverseAndFill(ArtifactReport report, Set<Product> products,
+    private void collectGAVs(ArtifactReport report, Set<GAV> gavs) {
+        gavs.add(report.getGav());
+        for (ArtifactReport dep : report.getDependencies()) {
+            collectGAVs(dep, gavs);
+        }
+    }
+
+    private void traverseAndFill(ArtifactReport report, ReportLookups lookups,
             List<CompletableFuture<Void>> futures) {
-        futures.add(fillArtifactReport(report, products));
+        futures.add(fillArtifactReport(report, lookups));
         for (ArtifactReport dep : report.getDependencies()) {
-            traverseAndFill(dep, products, futures);
+            traverseAndFill(dep, lookups, futures);
         }
     }
 
-    private CompletableFuture<Void> fillArtifactReport(ArtifactReport report, Set<Product> products) {
+    private CompletableFuture<Void> fillArtifactReport(ArtifactReport report, ReportLookups lookups) {
         GAV gav = report.getGav();
 
-        CompletableFuture<Set<ProductArtifacts>> artifacts = productProvider.getArtifacts(new MavenArtifact(gav));
-        artifacts = filterProductArtifacts(products, artifacts);
+        CompletableFuture<Set<ProductArtifacts>> artifacts = lookups.getArtifacts(gav.getGA());
         
-        report.setBlacklisted(blackArtifactService.isArtifactPresent(gav));
-        VersionParser parser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
+        report.setBlacklisted(lookups.isBlacklisted(gav));
 
-        CompletableFuture<Void> fillVersions = analyzeVersions(parser,
-                gav.getVersion(), artifacts)
+        CompletableFuture<Void> fillVersions = lookups.getVersions(gav)
                 .thenAccept(v -> {
                     report.setAvailableVersions(v.getAvailableVersions());
                     report.setBestMatchVersion(v.getBestMatchVersion());
@@ -196,6 +237,48 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
         return CompletableFuture.allOf(fillVersions, fillWhitelist);
     }
 
+    /**
+     * Lookups of artifacts and their versions shared by all nodes of one report. The report tree
+     * repeats shared subtrees, so the same GA is usually present in many nodes, but it is looked
+     * up only once. The artifacts and the blacklist are prefetched for the whole tree.
+     */
+    private class ReportLookups {
+
+        private final Set<Product> products;
+
+        private final Map<GA, Set<ProductArtifacts>> allArtifacts;
+
+        private final Set<GAV> blacklisted;
+
+        private final VersionParser parser = VersionParser.getParser(VersionParser.DEFAULT_SUFFIX);
+
+        private final Map<GA, CompletableFuture<Set<ProductArtifacts>>> artifacts = new HashMap<>();
+
+        private final Map<GAV, CompletableFuture<VersionAnalysisResult>> versions = new HashMap<>();
+
+        ReportLookups(Set<Product> products, Map<GA, Set<ProductArtifacts>> allArtifacts,
+                Set<GAV> blacklisted) {
+            this.products = products;
+            this.allArtifacts = allArtifacts;
+            this.blacklisted = blacklisted;
+        }
+
+        boolean isBlacklisted(GAV gav) {
+            return blacklisted.contains(gav);
+        }
+
+        CompletableFuture<Set<ProductArtifacts>> getArtifacts(GA ga) {
+            return artifacts.computeIfAbsent(ga, k -> filterProductArtifacts(products,
+                    CompletableFuture.completedFuture(allArtifacts.getOrDefault(k,
+                            Collections.emptySet()))));
+        }
+
+        CompletableFuture<VersionAnalysisResult> getVersions(GAV gav) {
+            return versions.computeIfAbsent(gav, k -> analyzeVersions(parser, k.getVersion(),
+                    getArtifacts(k.getGA())));
+        }
+    }
+
     private CompletableFuture<VersionAnalysisResult> analyzeVersions(VersionParser versionParser, String version, CompletableFuture<Set<ProductArtifacts>> availableArtifacts) {
         VersionAnalyzer va = new VersionAnalyzer(versionParser);
         return availableArtifacts.thenApply(pas -> {
@@ -237,7 +320,7 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
 
     private void populateAdvancedArtifactReportFields(AdvancedArtifactReport advancedReport,
             ArtifactReport report, Set<GAV> modulesAnalyzed, File repoFolder) {
-        VersionParser parser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
+        VersionParser parser = VersionParser.getParser(VersionParser.DEFAULT_SUFFIX);
 
         for (ArtifactReport dep : report.getDependencies()) {
             final GAV gav = dep.getGav();
@@ -285,11 +368,22 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
     public Set<AlignmentReportModule> getAligmentReport(SCMLocator scml,
             boolean useUnknownProduct, Set<Long> productIds) throws ScmException,
             PomAnalysisException, CommunicationException {
-        VersionParser versionParser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
+        VersionParser versionParser = VersionParser.getParser(VersionParser.DEFAULT_SUFFIX);
         Map<GA, Set<GAV>> dependenciesOfModules = scmConnector.getDependenciesOfModules(
                 scml.getScmUrl(), scml.getRevision(), scml.getPomPath(), scml.getRepositories());
         Set<Product> products = productAdapter.toProducts(Collections.emptySet(), productIds);
 
+        Set<GA> allGAs = dependenciesOfModules.values().stream()
+                .flatMap(Set::stream)
+                .map(GAV::getGA)
+                .collect(Collectors.toSet());
+        Map<GA, Set<ProductArtifacts>> allArtifacts = getArtifactsPerGA(allGAs,
+                LookupOptions.DEFAULT);
+        Set<GAV> allBlacklisted = blackArtifactService.findBlacklisted(dependenciesOfModules
+                .values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet()));
+
         List<CompletableFuture<Void>> futures = new ArrayList<>();
         Set<AlignmentReportModule> ret = new TreeSet<>(Comparator.comparing(x -> x.getModule()));
         for (Map.Entry<GA, Set<GAV>> e : dependenciesOfModules.entrySet()) {
@@ -304,9 +398,7 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
             Map<GAV, CompletableFuture<Set<ProductArtifact>>> diff = new HashMap<>();
 
             for (GAV gav : e.getValue()) {
-                boolean bl = blackArtifactService.getArtifact(gav).isPresent();
-
-                if (bl) {
+                if (allBlacklisted.contains(gav)) {
                     blacklisted.add(gav);
                     internallyBuilt.put(gav, Collections.emptySet());
                     differentVersion.put(gav, Collections.emptySet());
@@ -314,7 +406,8 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
                 }
 
                 CompletableFuture<Set<ProductArtifacts>> artifacts = filterProducts(
-                        useUnknownProduct, products, productProvider.getArtifacts(new MavenArtifact(gav)));
+                        useUnknownProduct, products, CompletableFuture.completedFuture(allArtifacts
+                                .getOrDefault(gav.getGA(), Collections.emptySet())));
                 CompletableFuture<VersionAnalysisResult> versions = analyzeVersions(
                         versionParser, gav.getVersion(), artifacts);
 
@@ -415,14 +508,21 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
     @Override
     public Set<BuiltReportModule> getBuiltReport(SCMLocator scml) throws ScmException,
             PomAnalysisException, CommunicationException {
-        VersionParser versionParser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
+        VersionParser versionParser = VersionParser.getParser(VersionParser.DEFAULT_SUFFIX);
         Map<GA, Set<GAV>> dependenciesOfModules = scmConnector.getDependenciesOfModules(
                 scml.getScmUrl(), scml.getRevision(), scml.getPomPath(), scml.getRepositories());
+        Set<GA> allGAs = dependenciesOfModules.values().stream()
+                .flatMap(Set::stream)
+                .map(GAV::getGA)
+                .collect(Collectors.toSet());
+        Map<GA, Set<ProductArtifacts>> allArtifacts = getArtifactsPerGA(allGAs,
+                LookupOptions.DEFAULT);
+
         Set<CompletableFuture<BuiltReportModule>> builtSet = new HashSet<>();
         for (Map.Entry<GA, Set<GAV>> e : dependenciesOfModules.entrySet()) {
             for (GAV gav : e.getValue()) {
-                CompletableFuture<Set<ProductArtifacts>> artifacts = productProvider.getArtifacts(new MavenArtifact(gav));
-                artifacts = filterBuiltArtifacts(artifacts);
+                CompletableFuture<Set<ProductArtifacts>> artifacts = CompletableFuture
+                        .completedFuture(allArtifacts.get(gav.getGA()));
                 builtSet.add(analyzeVersions(versionParser, gav.getVersion(), artifacts)
                         .thenApply(v -> toBuiltReportModule(gav, v)));
             }
@@ -441,31 +541,30 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
     public List<NPMLookupReport> getLookupReports(LookupNPMRequest request)
             throws CommunicationException{
         final String versionSuffix = request.getVersionSuffix();
-        final String repositoryGroup = request.getRepositoryGroup();
-        if (versionSuffix != null && !versionSuffix.isEmpty()) {
-            repositoryProductProvider.setVersionSuffix(versionSuffix);
-        }
-        if (repositoryGroup != null && !repositoryGroup.isEmpty()) {
-            repositoryProductProvider.setRepository(repositoryGroup);
-        }
+        final LookupOptions options = LookupOptions.of(request.getRepositoryGroup(), versionSuffix);
 
         Set<String> uniqueNames = request.getPackages().stream()
                 .map(x -> x.getName())
                 .collect(Collectors.toSet());
 
-        Map<String, CompletableFuture<Set<ProductArtifacts>>> artifactsMap = getProductArtifactsNPM(uniqueNames);
+        Map<String, CompletableFuture<Set<ProductArtifacts>>> artifactsMap = getProductArtifactsNPM(uniqueNames, options);
 
         return createLookupReports(request.getPackages(), versionSuffix, artifactsMap);
     }
 
     private Map<String, CompletableFuture<Set<ProductArtifacts>>> getProductArtifactsNPM(
-            Set<String> packageNames) {
-        Map<String, CompletableFuture<Set<ProductArtifacts>>> gaProductArtifactsMap = new HashMap<>();
+            Set<String> packageNames, LookupOptions options) {
+        Map<String, Artifact> artifacts = new HashMap<>();
         for (String name : packageNames) {
-            CompletableFuture<Set<ProductArtifacts>> artifacts = productProvider
-                    .getArtifacts(new NPMArtifact(name, "0.0.0"));
+            artifacts.put(name, new NPMArtifact(name, "0.0.0"));
+        }
+        CompletableFuture<Map<Artifact, Set<ProductArtifacts>>> allArtifacts = productProvider
+                .getArtifacts(artifacts.values(), options);
 
-            gaProductArtifactsMap.put(name, artifacts);
+        Map<String, CompletableFuture<Set<ProductArtifacts>>> gaProductArtifactsMap = new HashMap<>();
+        for (Map.Entry<String, Artifact> e : artifacts.entrySet()) {
+            gaProductArtifactsMap.put(e.getKey(), allArtifacts.thenApply(
+                    m -> m.getOrDefault(e.getValue(), Collections.emptySet())));
         }
 
         return gaProductArtifactsMap;
@@ -477,9 +576,9 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
             throws CommunicationException {
         VersionParser versionParser;
         if (suffix == null || suffix.isEmpty()) {
-            versionParser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
+            versionParser = VersionParser.getParser(VersionParser.DEFAULT_SUFFIX);
         } else {
-            versionParser = new VersionParser(suffix);
+            versionParser = VersionParser.getParser(suffix);
         }
 
         List<CompletableFuture<NPMLookupReport>> futures = packages.stream()
@@ -503,33 +602,30 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
     @Override
     public List<LookupReport> getLookupReportsForGavs(LookupGAVsRequest request)
             throws CommunicationException{
-        final String versionSuffix = request.getVersionSuffix();
-        final String repositoryGroup = request.getRepositoryGroup();
-        if (versionSuffix != null && !versionSuffix.isEmpty()) {
-            repositoryProductProvider.setVersionSuffix(versionSuffix);
-        }
-        if (repositoryGroup != null && !repositoryGroup.isEmpty()) {
-            repositoryProductProvider.setRepository(repositoryGroup);
-        }
+        final LookupOptions options = LookupOptions.of(request.getRepositoryGroup(),
+                request.getVersionSuffix());
 
         /** Get set of GAs */
         Set<GA> uniqueGAs = request.getGavs().stream().map(GAV::getGA).collect(Collectors.toSet());
 
-        Map<GA, CompletableFuture<Set<ProductArtifacts>>> gaProductArtifactsMap = getProductArtifactsPerGA(request, uniqueGAs);
+        Map<GA, CompletableFuture<Set<ProductArtifacts>>> gaProductArtifactsMap = getProductArtifactsPerGA(request, uniqueGAs, options);
 
         return createLookupReports(request, gaProductArtifactsMap);
         
     }
 
     private Map<GA, CompletableFuture<Set<ProductArtifacts>>> getProductArtifactsPerGA(
-            LookupGAVsRequest request, Set<GA> uniqueGAs) throws CommunicationException {
+            LookupGAVsRequest request, Set<GA> uniqueGAs, LookupOptions options)
+            throws CommunicationException {
         Set<Product> products = productAdapter.toProducts(request.getProductNames(),
                 request.getProductVersionIds());
 
+        Map<GA, Set<ProductArtifacts>> allArtifacts = getArtifactsPerGA(uniqueGAs, options);
+
         Map<GA, CompletableFuture<Set<ProductArtifacts>>> gaProductArtifactsMap = new HashMap<>();
         for (GA ga : uniqueGAs) {
-            CompletableFuture<Set<ProductArtifacts>> artifacts = productProvider
-                    .getArtifacts(new MavenArtifact(new GAV(ga, "0.0.0")));
+            CompletableFuture<Set<ProductArtifacts>> artifacts = CompletableFuture
+                    .completedFuture(allArtifacts.get(ga));
             artifacts = filterProductArtifacts(products, artifacts);
 
             gaProductArtifactsMap.put(ga, artifacts);
@@ -538,6 +634,50 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
         return gaProductArtifactsMap;
     }
 
+    /**
+     * Looks up product artifacts of all the given GAs in single batch. Blacklisted artifacts are
+     * removed from the result.
+     */
+    private Map<GA, Set<ProductArtifacts>> getArtifactsPerGA(Set<GA> gas, LookupOptions options)
+            throws CommunicationException {
+        Map<Artifact, GA> artifacts = new HashMap<>();
+        for (GA ga : gas) {
+            artifacts.put(new MavenArtifact(new GAV(ga, "0.0.0")), ga);
+        }
+        Map<Artifact, Set<ProductArtifacts>> found = joinFuture(productProvider.getArtifacts(
+                artifacts.keySet(), options));
+
+        Map<GA, Set<ProductArtifacts>> ret = new HashMap<>();
+        for (Map.Entry<Artifact, GA> e : artifacts.entrySet()) {
+            ret.put(e.getValue(), found.getOrDefault(e.getKey(), Collections.emptySet()));
+        }
+        return removeBlacklisted(ret);
+    }
+
+    /**
+     * Removes blacklisted artifacts from the product artifacts. The blacklist is resolved for all
+     * the artifacts at once, so it is queried only once per report.
+     */
+    private Map<GA, Set<ProductArtifacts>> removeBlacklisted(
+            Map<GA, Set<ProductArtifacts>> artifacts) {
+        Set<GAV> gavs = artifacts.values().stream()
+                .flatMap(Set::stream)
+                .flatMap(pa -> pa.getArtifacts().stream())
+                .map(a -> ((MavenArtifact) a).getGav())
+                .collect(Collectors.toSet());
+        Set<GAV> blacklisted = blackArtifactService.findBlacklisted(gavs);
+        if (blacklisted.isEmpty()) {
+            return artifacts;
+        }
+
+        Map<GA, Set<ProductArtifacts>> ret = new HashMap<>();
+        for (Map.Entry<GA, Set<ProductArtifacts>> e : artifacts.entrySet()) {
+            ret.put(e.getKey(), AggregatedProductProvider.filterArtifacts(e.getValue(),
+                    a -> !blacklisted.contains(((MavenArtifact) a).getGav())));
+        }
+        return ret;
+    }
+
     private List<LookupReport> createLookupReports(LookupGAVsRequest request, Map<GA, CompletableFuture<Set<ProductArtifacts>>> gaProductArtifactsMap) throws CommunicationException {
         List<CompletableFuture<Void>> futures = new ArrayList<>();
         List<LookupReport> reports = new ArrayList<>();
@@ -545,11 +685,13 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
         String suffix = request.getVersionSuffix();
         VersionParser versionParser;
         if (suffix == null || suffix.isEmpty()) {
-            versionParser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
+            versionParser = VersionParser.getParser(VersionParser.DEFAULT_SUFFIX);
         }else{
-            versionParser = new VersionParser(suffix);
+            versionParser = VersionParser.getParser(suffix);
         }
 
+        Set<GAV> blacklisted = blackArtifactService.findBlacklisted(request.getGavs());
+
         request.getGavs().stream()
                 .distinct()
                 .forEach((gav) -> {
@@ -558,15 +700,8 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
 
             CompletableFuture<Set<ProductArtifacts>> artifacts = gaProductArtifactsMap.get(gav.getGA());
 
-            futures.add(analyzeVersions(versionParser, gav.getVersion(), artifacts).thenAccept(v -> {
-                lr.setAvailableVersions(v.getAvailableVersions());
-                lr.setBestMatchVersion(v.getBestMatchVersion().orElse(null));
-            }));
-
-            futures.add(artifacts.thenAccept(pas -> {
-                lr.setWhitelisted(toWhitelisted(pas));
-            }));
-            lr.setBlacklisted(blackArtifactService.isArtifactPresent(gav));
+            futures.add(artifacts.thenAccept(pas -> fillLookupReport(lr, pas, versionParser)));
+            lr.setBlacklisted(blacklisted.contains(gav));
         });
 
         joinFutures(futures);
@@ -574,6 +709,144 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
         return reports;
     }
 
+    private static void fillLookupReport(LookupReport lr, Set<ProductArtifacts> pas,
+            VersionParser versionParser) {
+        List<String> versions = pas.stream()
+                .flatMap(as -> as.getArtifacts().stream())
+                .map(a -> a.getVersion())
+                .collect(Collectors.toList());
+        VersionAnalysisResult v = new VersionAnalyzer(versionParser).analyseVersions(
+                lr.getVersion(), versions);
+
+        lr.setAvailableVersions(v.getAvailableVersions());
+        lr.setBestMatchVersion(v.getBestMatchVersion().orElse(null));
+        lr.setWhitelisted(toWhitelisted(pas));
+    }
+
+    @Override
+    public Map<GA, String> streamLookupReportsForGavs(LookupGAVsRequest request,
+            Consumer<LookupReport> consumer) throws CommunicationException {
+        LookupOptions options = LookupOptions.of(request.getRepositoryGroup(),
+                request.getVersionSuffix());
+        VersionParser versionParser = VersionParser.getParser(options.getVersionSuffix());
+        Set<Product> products = productAdapter.toProducts(request.getProductNames(),
+                request.getProductVersionIds());
+        Set<GAV> blacklisted = blackArtifactService.findBlacklisted(request.getGavs());
+
+        Map<GA, List<GAV>> gavsPerGA = request.getGavs().stream()
+                .distinct()
+                .collect(Collectors.groupingBy(GAV::getGA, LinkedHashMap::new,
+                        Collectors.toList()));
+
+        Iterator<GA> pending = gavsPerGA.keySet().iterator();
+        Set<GA> inFlight = new HashSet<>();
+        BlockingQueue<GABatchLookup> completed = new LinkedBlockingQueue<>();
+        Map<GA, String> failures = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lookupTimeout);
+        while (pending.hasNext() || !inFlight.isEmpty()) {
+            while (inFlight.size() < lookupMaxInFlight && pending.hasNext()) {
+                List<GA> batch = new ArrayList<>();
+                while (batch.size() < LOOKUP_BATCH_SIZE && inFlight.size() < lookupMaxInFlight
+                        && pending.hasNext()) {
+                    GA ga = pending.next();
+                    batch.add(ga);
+                    inFlight.add(ga);
+                }
+                lookupBatch(batch, options, completed);
+            }
+
+            GABatchLookup lookup;
+            try {
+                lookup = completed.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                inFlight.forEach(ga -> failures.put(ga, "Lookup was interrupted"));
+                pending.forEachRemaining(ga -> failures.put(ga, "Lookup was interrupted"));
+                break;
+            }
+            if (lookup == null) {
+                inFlight.forEach(ga -> failures.put(ga, "Lookup timed out"));
+                pending.forEachRemaining(ga -> failures.put(ga, "Lookup timed out"));
+                break;
+            }
+
+            if (lookup.error != null) {
+                if (lookup.gas.size() > 1) {
+                    // find out which of the GAs failed, so that the others are still reported
+                    lookup.gas.forEach(ga -> lookupBatch(Collections.singletonList(ga), options,
+                            completed));
+                    continue;
+                }
+                Throwable cause = lookup.error instanceof CompletionException
+                        && lookup.error.getCause() != null ? lookup.error.getCause() : lookup.error;
+                inFlight.removeAll(lookup.gas);
+                lookup.gas.forEach(ga -> failures.put(ga, String.valueOf(cause.getMessage())));
+                continue;
+            }
+            inFlight.removeAll(lookup.gas);
+
+            Map<GA, Set<ProductArtifacts>> artifacts = removeBlacklisted(lookup.artifacts);
+            for (GA ga : lookup.gas) {
+                Set<ProductArtifacts> gaArtifacts = filterProductArtifacts(products,
+                        CompletableFuture.completedFuture(artifacts.get(ga))).join();
+                for (GAV gav : gavsPerGA.get(ga)) {
+                    LookupReport lr = new LookupReport(gav);
+                    fillLookupReport(lr, gaArtifacts, versionParser);
+                    lr.setBlacklisted(blacklisted.contains(gav));
+                    consumer.accept(lr);
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Looks up the GAs with a single call of the product provider and adds the result to the
+     * queue once it completes.
+     */
+    private void lookupBatch(List<GA> gas, LookupOptions options,
+            BlockingQueue<GABatchLookup> completed) {
+        Map<GA, Artifact> artifacts = new LinkedHashMap<>();
+        gas.forEach(ga -> artifacts.put(ga, new MavenArtifact(new GAV(ga, "0.0.0"))));
+        productProvider.getArtifacts(artifacts.values(), options).whenComplete((m, ex) -> {
+            Map<GA, Set<ProductArtifacts>> found = new HashMap<>();
+            if (m != null) {
+                artifacts.forEach((ga, a) -> found.put(ga, m.getOrDefault(a,
+                        Collections.emptySet())));
+            }
+            completed.add(new GABatchLookup(gas, found, ex));
+        });
+    }
+
+    /**
+     * Completed lookup of a batch of GAs, either artifacts or error is present.
+     */
+    private static class GABatchLookup {
+
+        private final List<GA> gas;
+
+        private final Map<GA, Set<ProductArtifacts>> artifacts;
+
+        private final Throwable error;
+
+        GABatchLookup(List<GA> gas, Map<GA, Set<ProductArtifacts>> artifacts, Throwable error) {
+            this.gas = gas;
+            this.artifacts = artifacts;
+            this.error = error;
+        }
+    }
+
+    private <T> T joinFuture(CompletableFuture<T> future) throws CommunicationException {
+        try {
+            return future.join();
+        } catch(CompletionException ex){
+            if(ex.getCause() instanceof CommunicationException){
+                throw (CommunicationException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
     private <T> List<T> joinFutures(List<CompletableFuture<T>> futures) throws CommunicationException {
         try {
             return futures.stream().map(r -> r.join()).collect(Collectors.toList());
@@ -618,14 +891,7 @@ public class ReportsGeneratorImpl implements ReportsGenerator {
         if(!products.isEmpty()){
             pred = pred.and(p -> products.contains(p));
         }
-        artifacts = AggregatedProductProvider.filterProducts(artifacts, pred);
-        artifacts = filterBuiltArtifacts(artifacts);
-        return artifacts;
-    }
-
-    private CompletableFuture<Set<ProductArtifacts>> filterBuiltArtifacts(CompletableFuture<Set<ProductArtifacts>> artifacts) {
-        return artifacts.thenApply(as -> AggregatedProductProvider.filterArtifacts(as,
-                a -> !blackArtifactService.isArtifactPresent(((MavenArtifact) a).getGav())));
+        return AggregatedProductProvider.filterProducts(artifacts, pred);
     }
 
     private static List<RestProductInput> toWhitelisted(Set<ProductArtifacts> whitelisted) {
@@ -0,0 +1,59 @@
+package org.jboss.da.listings.impl.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.da.common.version.VersionParser;
+import org.jboss.da.listings.api.model.BlackArtifact;
+import org.jboss.da.listings.api.model.GA;
+import org.jboss.da.listings.api.model.User;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BlacklistSnapshotTest {
+
+    private final VersionParser parser = new VersionParser(VersionParser.DEFAULT_SUFFIX);
+
+    private final User user = new User("user", "id");
+
+    private final BlacklistSnapshot snapshot = BlacklistSnapshot.of(Arrays.asList(
+            new BlackArtifact(new GA("org.foo", "bar"), "1.0.0", user),
+            new BlackArtifact(new GA("org.foo", "baz"), "2.0.0.redhat-3", user)));
+
+    @Test
+    public void testUnsuffixedVersionIsLookedUp() {
+        assertTrue(snapshot.isBlacklisted("org.foo", "bar", "1.0.0", parser));
+        assertTrue(snapshot.isBlacklisted("org.foo", "bar", "1.0", parser));
+        assertTrue(snapshot.isBlacklisted("org.foo", "bar", "1.0.0.redhat-1", parser));
+        assertFalse(snapshot.isBlacklisted("org.foo", "bar", "1.0.1", parser));
+    }
+
+    @Test
+    public void testSuffixedVersionIsLookedUpOnlyForSuffixed() {
+        assertTrue(snapshot.isBlacklisted("org.foo", "baz", "2.0.0.redhat-3", parser));
+        assertFalse(snapshot.isBlacklisted("org.foo", "baz", "2.0.0.redhat-2", parser));
+        assertFalse(snapshot.isBlacklisted("org.foo", "baz", "2.0.0", parser));
+    }
+
+    @Test
+    public void testOtherGAIsNotBlacklisted() {
+        assertFalse(snapshot.isBlacklisted("org.foo", "qux", "1.0.0", parser));
+        assertFalse(snapshot.isBlacklisted("org.bar", "bar", "1.0.0", parser));
+    }
+
+    @Test
+    public void testBloomFilterHasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10000);
+        List<String> artifactIds = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            artifactIds.add("artifact-" + i);
+            filter.add("org.group" + (i % 37), "artifact-" + i);
+        }
+        for (int i = 0; i < artifactIds.size(); i++) {
+            assertTrue(filter.mightContain("org.group" + (i % 37), artifactIds.get(i)));
+        }
+    }
+}
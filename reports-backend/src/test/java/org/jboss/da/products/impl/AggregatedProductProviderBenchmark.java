@@ -0,0 +1,167 @@
+package org.jboss.da.products.impl;
+
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.products.api.Product;
+import org.jboss.da.products.api.ProductProvider;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the number of tasks scheduled on the managed scheduler per aggregation of the product
+ * providers, with providers completing after the given latency. The tasks per aggregation are
+ * printed after each iteration. Run the main method from the test classpath to execute the
+ * benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregatedProductProviderBenchmark {
+
+    @Param({ "1", "10", "50" })
+    private int latency;
+
+    private final Product eap = new Product("EAP", "7.0");
+
+    private final Product fuse = new Product("Fuse", "6.3");
+
+    private final AtomicLong scheduled = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    private ScheduledExecutorService providers;
+
+    private long aggregations;
+
+    @Mock
+    private ProductProvider databaseProductProvider;
+
+    @Mock
+    private RepositoryProductProvider repositoryProductProvider;
+
+    @Mock
+    private Configuration configuration;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private ManagedScheduledExecutorService scheduler;
+
+    @InjectMocks
+    private AggregatedProductProvider productProvider;
+
+    @Setup
+    public void setup() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        providers = Executors.newScheduledThreadPool(2);
+        MockitoAnnotations.initMocks(this);
+        when(configuration.getConfig()).thenReturn(new DAConfig());
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).then(i -> {
+            scheduled.incrementAndGet();
+            return executor.schedule((Runnable) i.getArguments()[0], (Long) i.getArguments()[1],
+                    (TimeUnit) i.getArguments()[2]);
+        });
+        when(databaseProductProvider.getAllProducts()).then(i -> later(eap));
+        when(repositoryProductProvider.getAllProducts()).then(i -> later(fuse));
+        productProvider.init();
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        scheduled.set(0);
+        aggregations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n%.1f scheduled tasks per aggregation%n",
+                (double) scheduled.get() / aggregations);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        providers.shutdownNow();
+    }
+
+    /**
+     * The original implementation, which checked the providers every millisecond until all of
+     * them were done.
+     */
+    @Benchmark
+    public Set<Product> polling() throws Exception {
+        aggregations++;
+        List<CompletableFuture<Set<Product>>> results = Arrays.asList(later(eap), later(fuse));
+        CompletableFuture<Set<Product>> ret = new CompletableFuture<>();
+        poll(ret, results);
+        return ret.get();
+    }
+
+    private void poll(CompletableFuture<Set<Product>> ret,
+            List<CompletableFuture<Set<Product>>> results) {
+        if (results.stream().allMatch(CompletableFuture::isDone)) {
+            Set<Product> products = new HashSet<>();
+            results.forEach(r -> products.addAll(r.join()));
+            ret.complete(products);
+        } else {
+            scheduler.schedule(() -> poll(ret, results), 1, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Benchmark
+    public Set<Product> completion() throws Exception {
+        aggregations++;
+        return productProvider.getAllProducts().get();
+    }
+
+    private CompletableFuture<Set<Product>> later(Product product) {
+        CompletableFuture<Set<Product>> result = new CompletableFuture<>();
+        providers.schedule(() -> result.complete(Collections.singleton(product)), latency,
+                TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AggregatedProductProviderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
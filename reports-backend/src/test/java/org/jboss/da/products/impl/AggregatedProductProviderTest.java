@@ -0,0 +1,120 @@
+package org.jboss.da.products.impl;
+
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.products.api.Product;
+import org.jboss.da.products.api.ProductProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AggregatedProductProviderTest {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @Mock
+    private ManagedScheduledExecutorService scheduler;
+
+    @Mock
+    private ProductProvider databaseProductProvider;
+
+    @Mock
+    private RepositoryProductProvider repositoryProductProvider;
+
+    @Mock
+    private Configuration configuration;
+
+    @Mock
+    private Logger log;
+
+    @InjectMocks
+    private AggregatedProductProvider productProvider;
+
+    private final Product eap = new Product("EAP", "7.0");
+
+    private final Product fuse = new Product("Fuse", "6.3");
+
+    @Before
+    public void setUp() throws Exception {
+        DAConfig config = new DAConfig();
+        config.setProductProviderDeadline(200);
+        when(configuration.getConfig()).thenReturn(config);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).then(
+                i -> executor.schedule((Runnable) i.getArguments()[0], (Long) i.getArguments()[1],
+                        (TimeUnit) i.getArguments()[2]));
+        productProvider.init();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testCompletedProvidersAreNotScheduled() throws Exception {
+        when(databaseProductProvider.getAllProducts()).thenReturn(
+                CompletableFuture.completedFuture(Collections.singleton(eap)));
+        when(repositoryProductProvider.getAllProducts()).thenReturn(
+                CompletableFuture.completedFuture(Collections.singleton(fuse)));
+
+        Set<Product> products = productProvider.getAllProducts().get(1, TimeUnit.SECONDS);
+
+        assertEquals(new HashSet<>(Arrays.asList(eap, fuse)), products);
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testCompletesWhenProvidersComplete() throws Exception {
+        CompletableFuture<Set<Product>> database = new CompletableFuture<>();
+        CompletableFuture<Set<Product>> repository = new CompletableFuture<>();
+        when(databaseProductProvider.getAllProducts()).thenReturn(database);
+        when(repositoryProductProvider.getAllProducts()).thenReturn(repository);
+
+        CompletableFuture<Set<Product>> result = productProvider.getAllProducts();
+        database.complete(Collections.singleton(eap));
+        assertFalse(result.isDone());
+        repository.complete(Collections.singleton(fuse));
+
+        assertEquals(new HashSet<>(Arrays.asList(eap, fuse)), result.get(1, TimeUnit.SECONDS));
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testPartialResultsAfterDeadline() throws Exception {
+        when(databaseProductProvider.getAllProducts()).thenReturn(
+                CompletableFuture.completedFuture(Collections.singleton(eap)));
+        when(repositoryProductProvider.getAllProducts()).thenReturn(new CompletableFuture<>());
+
+        Set<Product> products = productProvider.getAllProducts().get(5, TimeUnit.SECONDS);
+
+        assertEquals(Collections.singleton(eap), products);
+        verify(log).warn(anyString(), any(), any());
+    }
+}
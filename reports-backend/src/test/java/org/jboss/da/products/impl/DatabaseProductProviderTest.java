@@ -0,0 +1,122 @@
+package org.jboss.da.products.impl;
+
+import org.jboss.da.listings.api.dao.ProductVersionDAO;
+import org.jboss.da.listings.api.model.GA;
+import org.jboss.da.listings.api.model.ProductVersion;
+import org.jboss.da.listings.api.model.ProductVersionArtifactRelationship;
+import org.jboss.da.listings.api.model.User;
+import org.jboss.da.listings.api.model.WhiteArtifact;
+import org.jboss.da.listings.model.ProductSupportStatus;
+import org.jboss.da.model.rest.GAV;
+import org.jboss.da.products.api.Artifact;
+import org.jboss.da.products.api.LookupOptions;
+import org.jboss.da.products.api.MavenArtifact;
+import org.jboss.da.products.api.NPMArtifact;
+import org.jboss.da.products.api.Product;
+import org.jboss.da.products.api.ProductArtifacts;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DatabaseProductProviderTest {
+
+    @Mock
+    private ProductVersionDAO productVersionDAO;
+
+    @Mock
+    private DatabaseExecutor executor;
+
+    @Mock
+    private WhitelistIndex whitelistIndex;
+
+    @InjectMocks
+    private DatabaseProductProvider productProvider;
+
+    private final User user = new User("user", "user");
+
+    private final ProductVersion eap = new ProductVersion(
+            new org.jboss.da.listings.api.model.Product("EAP"), "7.0",
+            ProductSupportStatus.SUPPORTED);
+
+    @Before
+    public void setUp() {
+        doAnswer(i -> {
+            ((Runnable) i.getArguments()[0]).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(whitelistIndex.getSnapshot()).thenReturn(Optional.empty());
+    }
+
+    @Test
+    public void testBatchLookupUsesSingleQuery() throws Exception {
+        WhiteArtifact core = new WhiteArtifact(new GA("org.jboss.da", "core"), "1.0.0.redhat-1",
+                user, "1.0.0.redhat-1", false);
+        when(productVersionDAO.findProductVersionsWithArtifactsByGAs(anyCollectionOf(GA.class),
+                any(Optional.class))).thenReturn(
+                Collections.singletonList(new ProductVersionArtifactRelationship(eap, core)));
+
+        Artifact core1 = new MavenArtifact(new GAV("org.jboss.da", "core", "1.0.0"));
+        Artifact core2 = new MavenArtifact(new GAV("org.jboss.da", "core", "1.1.0"));
+        Artifact util = new MavenArtifact(new GAV("org.jboss.da", "util", "1.0.0"));
+        Artifact npm = new NPMArtifact("core", "1.0.0");
+        List<Artifact> artifacts = Arrays.asList(core1, core2, util, npm);
+
+        Map<Artifact, Set<ProductArtifacts>> result = productProvider.getArtifacts(artifacts,
+                LookupOptions.DEFAULT).get();
+
+        verify(productVersionDAO, times(1)).findProductVersionsWithArtifactsByGAs(
+                anyCollectionOf(GA.class), any(Optional.class));
+        assertEquals(4, result.size());
+        Set<Artifact> expectedArtifacts = Collections.singleton(new MavenArtifact(new GAV(
+                "org.jboss.da", "core", "1.0.0.redhat-1")));
+        for (Artifact a : Arrays.asList(core1, core2)) {
+            assertEquals(1, result.get(a).size());
+            ProductArtifacts pa = result.get(a).iterator().next();
+            assertEquals(new Product("EAP", "7.0"), pa.getProduct());
+            assertEquals(expectedArtifacts, pa.getArtifacts());
+        }
+        assertTrue(result.get(util).isEmpty());
+        assertTrue(result.get(npm).isEmpty());
+    }
+
+    @Test
+    public void testLookupAnsweredFromIndex() throws Exception {
+        WhiteArtifact core = new WhiteArtifact(new GA("org.jboss.da", "core"), "1.0.0.redhat-1",
+                user, "1.0.0.redhat-1", false);
+        eap.addArtifact(core);
+        when(whitelistIndex.getSnapshot()).thenReturn(
+                Optional.of(WhitelistIndex.buildIndex(Collections.singletonList(eap))));
+
+        Set<ProductArtifacts> supported = productProvider.getArtifacts(
+                new MavenArtifact(new GAV("org.jboss.da", "core", "1.0.0")),
+                ProductSupportStatus.SUPPORTED).get();
+        Set<ProductArtifacts> superseded = productProvider.getArtifacts(
+                new MavenArtifact(new GAV("org.jboss.da", "core", "1.0.0")),
+                ProductSupportStatus.SUPERSEDED).get();
+
+        assertEquals(1, supported.size());
+        assertTrue(superseded.isEmpty());
+        verifyZeroInteractions(productVersionDAO, executor);
+    }
+}
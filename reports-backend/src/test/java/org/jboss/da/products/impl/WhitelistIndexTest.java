@@ -0,0 +1,104 @@
+package org.jboss.da.products.impl;
+
+import org.jboss.da.listings.api.dao.ProductVersionDAO;
+import org.jboss.da.listings.api.model.GA;
+import org.jboss.da.listings.api.model.ProductVersion;
+import org.jboss.da.listings.api.model.User;
+import org.jboss.da.listings.api.model.WhiteArtifact;
+import org.jboss.da.listings.model.ProductSupportStatus;
+import org.jboss.da.products.api.ProductArtifacts;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WhitelistIndexTest {
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private ProductVersionDAO productVersionDAO;
+
+    @Mock
+    private DatabaseExecutor executor;
+
+    @InjectMocks
+    private WhitelistIndex whitelistIndex;
+
+    private final User user = new User("user", "user");
+
+    private final ProductVersion eap = new ProductVersion(
+            new org.jboss.da.listings.api.model.Product("EAP"), "7.0",
+            ProductSupportStatus.SUPPORTED);
+
+    @Before
+    public void setUp() {
+        GA core = new GA("org.jboss.da", "core");
+        eap.addArtifact(new WhiteArtifact(core, "1.0.0.redhat-1", user, "1.0.0.redhat-1", false));
+        eap.addArtifact(new WhiteArtifact(core, "1.1.0.redhat-1", user, "1.1.0.redhat-1", false));
+        when(productVersionDAO.findAll()).thenReturn(Collections.singletonList(eap));
+    }
+
+    @Test
+    public void testIndexGroupsArtifactsByProduct() {
+        Map<org.jboss.da.model.rest.GA, Set<ProductArtifacts>> index = WhitelistIndex
+                .buildIndex(Collections.singletonList(eap));
+
+        Set<ProductArtifacts> pas = index.get(new org.jboss.da.model.rest.GA("org.jboss.da",
+                "core"));
+        assertEquals(1, pas.size());
+        ProductArtifacts pa = pas.iterator().next();
+        assertEquals("EAP", pa.getProduct().getName());
+        assertEquals(2, pa.getArtifacts().size());
+    }
+
+    @Test
+    public void testBurstOfChangesCausesSingleRebuild() {
+        whitelistIndex.rebuild();
+        whitelistIndex.rebuild();
+        whitelistIndex.rebuild();
+
+        ArgumentCaptor<Runnable> build = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(1)).execute(build.capture());
+        assertFalse(whitelistIndex.getSnapshot().isPresent());
+
+        build.getValue().run();
+
+        assertTrue(whitelistIndex.getSnapshot().isPresent());
+        verify(productVersionDAO, times(1)).findAll();
+    }
+
+    @Test
+    public void testChangeDuringBuildDiscardsStaleIndex() {
+        whitelistIndex.rebuild();
+        ArgumentCaptor<Runnable> build = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(build.capture());
+
+        when(productVersionDAO.findAll()).then(i -> {
+            whitelistIndex.rebuild();
+            return Arrays.asList(eap);
+        });
+        build.getValue().run();
+
+        assertFalse(whitelistIndex.getSnapshot().isPresent());
+        verify(executor, times(2)).execute(build.capture());
+    }
+}
@@ -1,9 +1,13 @@
 package org.jboss.da.reports.api;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.jboss.da.model.rest.GAV;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -43,4 +47,89 @@ public class ArtifactReportTest {
 
         assertEquals(2, ar.getNotBuiltDependencies());
     }
+
+    @Test
+    public void testNotBuiltDependenciesInvalidatedByDependencyChange() {
+        ArtifactReport ar = new ArtifactReport(new GAV("otg.example", "example", "0.1"));
+        ArtifactReport ar1 = new ArtifactReport(new GAV("otg.example", "dep1", "0.1"));
+        ArtifactReport ar11 = new ArtifactReport(new GAV("otg.example", "dep11", "0.1"));
+        ar.addDependency(ar1);
+        ar1.addDependency(ar11);
+
+        assertEquals(2, ar.getNotBuiltDependencies());
+        assertFalse(ar.isDependencyVersionSatisfied());
+
+        ar11.setBestMatchVersion(Optional.of("0.1.0.redhat-1"));
+        assertEquals(1, ar.getNotBuiltDependencies());
+        assertEquals(0, ar1.getNotBuiltDependencies());
+
+        ar1.setBestMatchVersion(Optional.of("0.1.0.redhat-1"));
+        assertEquals(0, ar.getNotBuiltDependencies());
+        assertTrue(ar.isDependencyVersionSatisfied());
+    }
+
+    @Test(timeout = 10000)
+    public void testNotBuiltDependenciesOfDeepTree() {
+        final int size = 50000;
+        ArtifactReport root = new ArtifactReport(new GAV("otg.example", "dep0", "0.1"));
+        ArtifactReport parent = root;
+        for (int i = 1; i < size; i++) {
+            ArtifactReport dependency = new ArtifactReport(new GAV("otg.example", "dep" + i, "0.1"));
+            parent.addDependency(dependency);
+            parent = dependency;
+        }
+
+        assertEquals(size - 1, root.getNotBuiltDependencies());
+        ArtifactReport report = root;
+        for (int i = 0; i < size; i++) {
+            assertEquals(size - 1 - i, report.getNotBuiltDependencies());
+            assertEquals(i == size - 1, report.isDependencyVersionSatisfied());
+            report = report.getDependencies().isEmpty() ? null : report.getDependencies()
+                    .iterator().next();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testNotBuiltDependenciesOfWideTree() {
+        final int size = 50000;
+        final int fanOut = 8;
+        List<ArtifactReport> reports = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ArtifactReport report = new ArtifactReport(new GAV("otg.example", "dep" + i, "0.1"));
+            if (i % 2 == 0) {
+                report.setBestMatchVersion(Optional.of("0.1.0.redhat-1"));
+            }
+            reports.add(report);
+            if (i > 0) {
+                reports.get((i - 1) / fanOut).addDependency(report);
+            }
+        }
+
+        int sum = 0;
+        for (ArtifactReport report : reports) {
+            sum += report.getNotBuiltDependencies();
+            report.isDependencyVersionSatisfied();
+        }
+
+        assertEquals(size / 2, reports.get(0).getNotBuiltDependencies());
+        assertEquals(expectedSum(size, fanOut), sum);
+    }
+
+    /**
+     * Sums the not built dependencies of all nodes by counting the not built ancestors.
+     */
+    private static long expectedSum(int size, int fanOut) {
+        long sum = 0;
+        for (int i = 1; i < size; i++) {
+            if (i % 2 == 0) {
+                continue;
+            }
+            int ancestors = 0;
+            for (int node = i; node > 0; node = (node - 1) / fanOut) {
+                ancestors++;
+            }
+            sum += ancestors;
+        }
+        return sum;
+    }
 }
@@ -5,9 +5,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.jboss.da.common.CommunicationException;
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
 import org.jboss.da.communication.aprox.FindGAVDependencyException;
 import org.jboss.da.communication.aprox.api.AproxConnector;
 import org.jboss.da.communication.aprox.model.GAVDependencyTree;
@@ -18,6 +22,7 @@ import org.jboss.da.listings.api.service.WhiteArtifactService;
 import org.jboss.da.listings.model.ProductSupportStatus;
 import org.jboss.da.model.rest.GAV;
 import org.jboss.da.products.api.Artifact;
+import org.jboss.da.products.api.LookupOptions;
 import org.jboss.da.products.api.Product;
 import org.jboss.da.products.api.ProductArtifacts;
 import org.jboss.da.products.impl.AggregatedProductProvider;
@@ -27,6 +32,7 @@ import org.jboss.da.reports.backend.impl.DependencyTreeGeneratorImpl;
 import org.jboss.da.reports.model.request.GAVRequest;
 import org.jboss.da.reports.model.request.LookupGAVsRequest;
 import org.jboss.da.reports.model.response.LookupReport;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -36,9 +42,12 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -48,6 +57,8 @@ import org.jboss.da.products.api.ArtifactType;
 import org.jboss.da.products.api.MavenArtifact;
 import org.jboss.da.reports.backend.impl.ProductAdapter;
 import org.mockito.ArgumentMatcher;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.argThat;
 
 import java.util.Objects;
@@ -77,6 +88,9 @@ public class ReportsGeneratorImplTest {
     @Mock
     private AggregatedProductProvider productProvider;
 
+    @Mock
+    private Configuration configuration;
+
     @InjectMocks
     @Spy
     private final ProductAdapter productAdapter = new ProductAdapter();
@@ -117,6 +131,33 @@ public class ReportsGeneratorImplTest {
 
     private final Product productEAP = new Product("EAP", "7.0", ProductSupportStatus.UNKNOWN);
 
+    @Before
+    public void prepareBatchProductProvider() {
+        when(productProvider.getArtifacts(anyCollectionOf(Artifact.class), any(LookupOptions.class)))
+                .then(i -> {
+            Collection<Artifact> artifacts = (Collection<Artifact>) i.getArguments()[0];
+            Map<Artifact, Set<ProductArtifacts>> ret = new HashMap<>();
+            for (Artifact artifact : artifacts) {
+                CompletableFuture<Set<ProductArtifacts>> pas = productProvider.getArtifacts(artifact);
+                if (pas != null && pas.isCompletedExceptionally()) {
+                    return pas.thenApply(x -> ret);
+                }
+                ret.put(artifact, pas == null ? Collections.emptySet() : pas.join());
+            }
+            return CompletableFuture.completedFuture(ret);
+        });
+    }
+
+    @Before
+    public void prepareBatchBlacklist() {
+        when(blackArtifactService.findBlacklisted(anyCollectionOf(GAV.class))).then(i -> {
+            Collection<GAV> gavs = (Collection<GAV>) i.getArguments()[0];
+            return gavs.stream()
+                    .filter(gav -> blackArtifactService.isArtifactPresent(gav))
+                    .collect(Collectors.toSet());
+        });
+    }
+
     private void prepareProductProvider(List<String> versions, List<Product> whitelisted, GAV gav){
         final Set<Artifact> artifacts = versions.stream()
                 .map(v -> new MavenArtifact(new GAV(gav.getGA(), v)))
@@ -253,6 +294,21 @@ public class ReportsGeneratorImplTest {
         assertMultipleDependencies(report.getDependencies());
     }
 
+    @Test
+    public void testSharedDependencyIsLookedUpOnce() throws CommunicationException,
+            FindGAVDependencyException {
+        prepareMulti();
+        GAVDependencyTree commonDT = new GAVDependencyTree(daCommonGAV, new HashSet<>(
+                Collections.singletonList(daUtilDT)));
+        when(cartographerClient.getDependencyTreeOfGAV(daCoreGAV)).thenReturn(
+                new GAVDependencyTree(daCoreGAV, new HashSet<>(Arrays.asList(daUtilDT, commonDT))));
+
+        ArtifactReport report = generator.getReport(gavToRequest(daCoreGAV));
+
+        assertEquals(2, report.getDependencies().size());
+        verify(productProvider, times(1)).getArtifacts(matchingGAV(daUtilGAV));
+    }
+
     /**
      * Test the distinct on a stream in #getLookupReportsForGavs works correctly
      */
@@ -297,6 +353,65 @@ public class ReportsGeneratorImplTest {
         assertTrue(lookupReport.isBlacklisted());
     }
 
+    @Test
+    public void testStreamedLookupReports() throws CommunicationException,
+            FindGAVDependencyException {
+        prepareMulti();
+        GAV brokenGAV = new GAV("org.jboss.da", "broken", version);
+        CompletableFuture<Set<ProductArtifacts>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("Repository is down"));
+        when(productProvider.getArtifacts(matchingGAV(brokenGAV))).thenReturn(failed);
+        LookupGAVsRequest lgr = new LookupGAVsRequest(Arrays.asList(daCoreGAV, daUtilGAV,
+                brokenGAV, daCommonGAV, daUtilGAV));
+
+        List<LookupReport> reports = new ArrayList<>();
+        Map<GA, String> failures = generator.streamLookupReportsForGavs(lgr, reports::add);
+
+        assertEquals(3, reports.size());
+        Map<GAV, LookupReport> reportsByGAV = reports.stream()
+                .collect(Collectors.toMap(LookupReport::getGav, r -> r));
+        assertEquals(bestMatchVersion, reportsByGAV.get(daCoreGAV).getBestMatchVersion());
+        assertEquals(bestMatchVersion, reportsByGAV.get(daUtilGAV).getBestMatchVersion());
+        assertEquals(null, reportsByGAV.get(daCommonGAV).getBestMatchVersion());
+        assertEquals(Collections.singletonMap(brokenGAV.getGA(), "Repository is down"), failures);
+    }
+
+    @Test
+    public void testStreamedLookupLooksUpGAsInBatch() throws CommunicationException,
+            FindGAVDependencyException {
+        prepareMulti();
+        LookupGAVsRequest lgr = new LookupGAVsRequest(Arrays.asList(daCoreGAV, daUtilGAV,
+                daCommonGAV));
+
+        List<LookupReport> reports = new ArrayList<>();
+        Map<GA, String> failures = generator.streamLookupReportsForGavs(lgr, reports::add);
+
+        assertEquals(3, reports.size());
+        assertTrue(failures.isEmpty());
+        verify(productProvider, times(1)).getArtifacts(anyCollectionOf(Artifact.class),
+                any(LookupOptions.class));
+    }
+
+    @Test
+    public void testStreamedLookupTimesOut() throws Exception {
+        DAConfig config = new DAConfig();
+        config.setLookupStreamingTimeout(100);
+        when(configuration.getConfig()).thenReturn(config);
+        generator.init();
+        when(productProvider.getArtifacts(anyCollectionOf(Artifact.class),
+                any(LookupOptions.class))).thenReturn(new CompletableFuture<>());
+        LookupGAVsRequest lgr = new LookupGAVsRequest(Arrays.asList(daCoreGAV, daUtilGAV));
+
+        List<LookupReport> reports = new ArrayList<>();
+        Map<GA, String> failures = generator.streamLookupReportsForGavs(lgr, reports::add);
+
+        assertTrue(reports.isEmpty());
+        Map<GA, String> expected = new HashMap<>();
+        expected.put(daCoreGAV.getGA(), "Lookup timed out");
+        expected.put(daUtilGAV.getGA(), "Lookup timed out");
+        assertEquals(expected, failures);
+    }
+
     private void assertMultipleDependencies(Set<ArtifactReport> deps) {
         assertEquals(2, deps.size());
 
@@ -14,7 +14,8 @@ public class ErrorMessage {
     public static enum ErrorType {
         BLACKLIST, UNEXPECTED_SERVER_ERR, PRODUCT_NOT_FOUND, PARAMS_REQUIRED,
         NO_RELATIONSHIP_FOUND, GA_NOT_FOUND, COMMUNICATION_FAIL, SCM_ENDPOINT, POM_ANALYSIS,
-        ILLEGAL_ARGUMENTS, INCORRECT_DATA, SCM_ANALYSIS, INPUT_VALIDATION
+        ILLEGAL_ARGUMENTS, INCORRECT_DATA, SCM_ANALYSIS, INPUT_VALIDATION, JOB_NOT_FOUND,
+        JOB_QUEUE_FULL
     };
 
     @Getter
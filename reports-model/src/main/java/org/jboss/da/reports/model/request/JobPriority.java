@@ -0,0 +1,8 @@
+package org.jboss.da.reports.model.request;
+
+/**
+ * Priority of an asynchronous report job. Interactive jobs are always started before batch jobs.
+ */
+public enum JobPriority {
+    INTERACTIVE, BATCH
+}
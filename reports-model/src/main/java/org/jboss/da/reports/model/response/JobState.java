@@ -0,0 +1,8 @@
+package org.jboss.da.reports.model.response;
+
+/**
+ * State of an asynchronous report job.
+ */
+public enum JobState {
+    QUEUED, RUNNING, FINISHED, FAILED, CANCELLED
+}
@@ -0,0 +1,40 @@
+package org.jboss.da.reports.model.response;
+
+import org.jboss.da.reports.model.request.JobPriority;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Status of an asynchronous report job. Times are in milliseconds since the epoch.
+ */
+@Data
+@Builder
+public class JobStatus {
+
+    private final String id;
+
+    private final String type;
+
+    private final JobPriority priority;
+
+    private final JobState state;
+
+    /**
+     * Number of jobs that will be started before this one, present only for queued jobs.
+     */
+    private final Integer queuePosition;
+
+    /**
+     * Description of what the job is doing now, present only for running jobs.
+     */
+    private final String progress;
+
+    private final long submitted;
+
+    private final Long started;
+
+    private final Long finished;
+
+    private final String error;
+}
@@ -0,0 +1,18 @@
+package org.jboss.da.reports.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * GA which lookup failed.
+ */
+@Data
+@AllArgsConstructor
+public class LookupFailure {
+
+    private final String groupId;
+
+    private final String artifactId;
+
+    private final String error;
+}
@@ -0,0 +1,19 @@
+package org.jboss.da.reports.model.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Last record of a streamed lookup. Lists the GAs which lookup failed and the error that ended
+ * the lookup prematurely, if any.
+ */
+@Data
+@AllArgsConstructor
+public class LookupTrailer {
+
+    private final List<LookupFailure> failures;
+
+    private final String error;
+}
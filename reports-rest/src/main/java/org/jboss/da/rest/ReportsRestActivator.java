@@ -1,5 +1,6 @@
 package org.jboss.da.rest;
 
+import org.jboss.da.rest.jobs.Jobs;
 import org.jboss.da.rest.listings.Artifacts;
 import org.jboss.da.rest.metrics.GeneralRestMetricsFilter;
 import org.jboss.da.rest.metrics.TimedMetric;
@@ -53,6 +54,7 @@ public class ReportsRestActivator extends Application {
         resources.add(Reports.class);
         resources.add(Products.class);
         resources.add(BlackListImpl.class);
+        resources.add(Jobs.class);
     }
 
     public void addMetricsResources(Set<Class<?>> resources) {
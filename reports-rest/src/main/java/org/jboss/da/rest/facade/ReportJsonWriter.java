@@ -0,0 +1,141 @@
+package org.jboss.da.rest.facade;
+
+import org.jboss.da.products.api.Product;
+import org.jboss.da.reports.api.ArtifactReport;
+import org.jboss.da.reports.model.response.Report;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes {@link ArtifactReport} as JSON of {@link Report} directly to the output, without
+ * creating the {@link Report} tree first. Only the path to the currently written node is kept on
+ * an explicit stack, so the memory needed doesn't depend on the size of the report. The number of
+ * not built dependencies is summed while the dependencies are written, so the fields depending on
+ * it are written after the dependencies.
+ */
+class ReportJsonWriter implements StreamingOutput {
+
+    private final JsonFactory factory;
+
+    private final ArtifactReport report;
+
+    ReportJsonWriter(JsonFactory factory, ArtifactReport report) {
+        this.factory = factory;
+        this.report = report;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(output)) {
+            // the container closes the output
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeReport(generator, report);
+        }
+    }
+
+    /**
+     * Writes the report tree depth-first. The explicit stack holds the iterators over the
+     * dependencies of the nodes on the path to the currently written node, so deep dependency
+     * trees don't overflow the thread stack.
+     */
+    private static void writeReport(JsonGenerator generator, ArtifactReport root)
+            throws IOException {
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(writeStart(generator, root));
+        while (!stack.isEmpty()) {
+            Node node = stack.peek();
+            if (node.dependencies.hasNext()) {
+                ArtifactReport dependency = node.dependencies.next();
+                if (!dependency.getBestMatchVersion().isPresent()) {
+                    node.notBuilt++;
+                }
+                stack.push(writeStart(generator, dependency));
+            } else {
+                stack.pop();
+                writeEnd(generator, node.notBuilt);
+                if (!stack.isEmpty()) {
+                    stack.peek().notBuilt += node.notBuilt;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the fields of the report preceding its dependencies and opens the dependencies
+     * array.
+     */
+    private static Node writeStart(JsonGenerator generator, ArtifactReport report)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("groupId", report.getGroupId());
+        generator.writeStringField("artifactId", report.getArtifactId());
+        generator.writeStringField("version", report.getVersion());
+
+        generator.writeArrayFieldStart("availableVersions");
+        for (String version : report.getAvailableVersions()) {
+            generator.writeString(version);
+        }
+        generator.writeEndArray();
+
+        generator.writeStringField("bestMatchVersion", report.getBestMatchVersion().orElse(null));
+        generator.writeBooleanField("blacklisted", report.isBlacklisted());
+        writeWhitelisted(generator, report.getWhitelisted());
+
+        generator.writeArrayFieldStart("dependencies");
+        return new Node(report.getDependencies().iterator());
+    }
+
+    /**
+     * Closes the dependencies array and writes the fields depending on the number of not built
+     * dependencies.
+     */
+    private static void writeEnd(JsonGenerator generator, int notBuilt) throws IOException {
+        generator.writeEndArray();
+        generator.writeBooleanField("dependencyVersionsSatisfied", notBuilt == 0);
+        generator.writeNumberField("notBuiltDependencies", notBuilt);
+        generator.writeEndObject();
+    }
+
+    private static void writeWhitelisted(JsonGenerator generator, List<Product> whitelisted)
+            throws IOException {
+        generator.writeFieldName("whitelisted");
+        if (whitelisted == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (Product product : whitelisted) {
+            generator.writeStartObject();
+            generator.writeStringField("name", product.getName());
+            generator.writeStringField("version", product.getVersion());
+            generator.writeStringField("supportStatus", product.getStatus() == null ? null
+                    : product.getStatus().name());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Report whose dependencies are being written.
+     */
+    private static class Node {
+
+        private final Iterator<ArtifactReport> dependencies;
+
+        private int notBuilt;
+
+        private Node(Iterator<ArtifactReport> dependencies) {
+            this.dependencies = dependencies;
+        }
+    }
+}
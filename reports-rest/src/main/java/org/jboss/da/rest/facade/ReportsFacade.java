@@ -14,6 +14,7 @@ import org.jboss.da.reports.model.response.BuiltReport;
 import org.jboss.da.reports.model.request.BuiltReportRequest;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.util.Set;
 
@@ -23,15 +24,26 @@ import org.jboss.da.reports.model.response.AdvancedReport;
 import org.jboss.da.reports.model.request.GAVRequest;
 import org.jboss.da.reports.model.request.LookupGAVsRequest;
 import org.jboss.da.reports.model.request.LookupNPMRequest;
+import org.jboss.da.model.rest.GA;
+import org.jboss.da.reports.model.response.LookupFailure;
 import org.jboss.da.reports.model.response.LookupReport;
+import org.jboss.da.reports.model.response.LookupTrailer;
 import org.jboss.da.reports.model.response.Report;
 import org.jboss.da.reports.model.request.SCMReportRequest;
 import org.jboss.da.reports.model.response.NPMLookupReport;
 import org.jboss.da.validation.Validation;
 import org.jboss.da.validation.ValidationException;
+import org.slf4j.Logger;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -43,6 +55,12 @@ public class ReportsFacade {
     @Inject
     private Validation validation;
 
+    @Inject
+    private ObjectMapper mapper;
+
+    @Inject
+    private Logger log;
+
     public Set<BuiltReport> builtReport(BuiltReportRequest request) throws ScmException,
             PomAnalysisException, CommunicationException, ValidationException {
         validation.validation(request,
@@ -69,6 +87,20 @@ public class ReportsFacade {
     }
 
     public Report scmReport(SCMReportRequest request) throws ScmException, PomAnalysisException, CommunicationException, NoSuchElementException, ValidationException {
+        return Translate.toReport(scmArtifactReport(request));
+    }
+
+    /**
+     * Same as {@link #scmReport(SCMReportRequest)}, but the report is written as JSON directly
+     * to the output, without creating the {@link Report} tree.
+     */
+    public StreamingOutput scmReportStreaming(SCMReportRequest request) throws ScmException,
+            PomAnalysisException, CommunicationException, NoSuchElementException,
+            ValidationException {
+        return new ReportJsonWriter(mapper.getFactory(), scmArtifactReport(request));
+    }
+
+    private ArtifactReport scmArtifactReport(SCMReportRequest request) throws ScmException, PomAnalysisException, CommunicationException, NoSuchElementException, ValidationException {
         validation.validation(request, "Getting dependency report for a project specified in a repository URL failed");
         if (request.getProductVersionIds().size() == 1) { //user inserted ID as empty string
             Iterator<Long> iterator = request.getProductVersionIds().iterator();
@@ -86,9 +118,7 @@ public class ReportsFacade {
 
         Optional<ArtifactReport> artifactReport = reportsGenerator.getReportFromSCM(request);
 
-        return artifactReport
-                .map(Translate::toReport)
-                .orElseThrow(() -> new NoSuchElementException());
+        return artifactReport.orElseThrow(() -> new NoSuchElementException());
     }
 
     public AdvancedReport advancedScmReport(SCMReportRequest request) throws ValidationException, ScmException, PomAnalysisException, CommunicationException {
@@ -126,6 +156,39 @@ public class ReportsFacade {
         return reportsGenerator.getLookupReportsForGavs(gavRequest);
     }
 
+    /**
+     * Writes the lookup reports as newline delimited JSON, each report as soon as it is
+     * available. The last line is {@link LookupTrailer} with the failed lookups.
+     */
+    public StreamingOutput gavsReportStreaming(LookupGAVsRequest gavRequest) {
+        return output -> {
+            List<LookupFailure> failures = new ArrayList<>();
+            String error = null;
+            try {
+                Map<GA, String> failed = reportsGenerator.streamLookupReportsForGavs(gavRequest,
+                        report -> writeLine(output, report));
+                failed.forEach((ga, e) -> failures.add(new LookupFailure(ga.getGroupId(), ga
+                        .getArtifactId(), e)));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            } catch (CommunicationException | RuntimeException ex) {
+                log.error("Streamed lookup failed", ex);
+                error = ex.getMessage();
+            }
+            writeLine(output, new LookupTrailer(failures, error));
+        };
+    }
+
+    private void writeLine(OutputStream output, Object value) {
+        try {
+            output.write(mapper.writeValueAsBytes(value));
+            output.write('\n');
+            output.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
     public List<NPMLookupReport> lookupReport(LookupNPMRequest request)
             throws CommunicationException {
         return reportsGenerator.getLookupReports(request);
@@ -28,15 +28,40 @@ import org.jboss.da.reports.model.response.RestGA2RestGAV2VersionProductsWithDif
 import org.jboss.da.reports.model.response.RestGAV2VersionProductsWithDiff;
 import org.jboss.da.reports.model.response.RestVersionProductWithDifference;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 class Translate {
 
-    static Report toReport(ArtifactReport report) {
-        List<Report> dependencies = report.getDependencies().stream()
-                .map(Translate::toReport)
-                .collect(Collectors.toList());
+    /**
+     * Translates the report tree bottom-up with explicit stack, so deep dependency trees don't
+     * overflow the thread stack.
+     */
+    static Report toReport(ArtifactReport root) {
+        List<ArtifactReport> preOrder = new ArrayList<>();
+        Deque<ArtifactReport> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            ArtifactReport report = stack.pop();
+            preOrder.add(report);
+            report.getDependencies().forEach(stack::push);
+        }
+
+        Map<ArtifactReport, Report> translated = new IdentityHashMap<>();
+        for (int i = preOrder.size() - 1; i >= 0; i--) {
+            ArtifactReport report = preOrder.get(i);
+            List<Report> dependencies = report.getDependencies().stream()
+                    .map(translated::get)
+                    .collect(Collectors.toList());
+            translated.put(report, toReport(report, dependencies));
+        }
+        return translated.get(root);
+    }
+
+    private static Report toReport(ArtifactReport report, List<Report> dependencies) {
         return new Report(report.getGav(),
                 new ArrayList<>(report.getAvailableVersions()),
                 report.getBestMatchVersion().orElse(null),
@@ -0,0 +1,118 @@
+package org.jboss.da.rest.jobs;
+
+import org.jboss.da.reports.model.request.JobPriority;
+import org.jboss.da.reports.model.response.JobState;
+
+import java.util.Comparator;
+
+import lombok.Getter;
+
+/**
+ * Single asynchronous report job. The mutable state is guarded by the {@link JobManager}.
+ */
+@Getter
+class Job {
+
+    /**
+     * Order in which the jobs are started: by priority and then in the order of submission.
+     */
+    static final Comparator<Job> ORDER = Comparator.comparing(Job::getPriority)
+            .thenComparingLong(Job::getSequence);
+
+    private final String id;
+
+    private final String key;
+
+    private final JobType type;
+
+    private final Object request;
+
+    private JobPriority priority;
+
+    private final long sequence;
+
+    private final long submitted = System.currentTimeMillis();
+
+    private JobState state = JobState.QUEUED;
+
+    private Long started;
+
+    private volatile String progress;
+
+    private Long finished;
+
+    private byte[] result;
+
+    private String error;
+
+    private long expires = Long.MAX_VALUE;
+
+    Job(String id, String key, JobType type, Object request, JobPriority priority, long sequence) {
+        this.id = id;
+        this.key = key;
+        this.type = type;
+        this.request = request;
+        this.priority = priority;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Changes the priority. A queued job must be removed from the queue before the change and
+     * added again after it, because the queue is ordered by the priority.
+     */
+    void setPriority(JobPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Describes what the running job is doing now. Called by the worker, so it is not guarded
+     * by the {@link JobManager}.
+     */
+    void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    boolean isDone() {
+        return state != JobState.QUEUED && state != JobState.RUNNING;
+    }
+
+    void start() {
+        state = JobState.RUNNING;
+        started = System.currentTimeMillis();
+    }
+
+    /**
+     * Finishes the job, returns false when the job was already done.
+     */
+    boolean finish(byte[] result, String error, long resultTtl) {
+        if (isDone()) {
+            return false;
+        }
+        this.state = error == null ? JobState.FINISHED : JobState.FAILED;
+        this.result = result;
+        this.error = error;
+        done(resultTtl);
+        return true;
+    }
+
+    /**
+     * Cancels the job, returns false when the job was already done.
+     */
+    boolean cancel(long resultTtl) {
+        if (isDone()) {
+            return false;
+        }
+        state = JobState.CANCELLED;
+        done(resultTtl);
+        return true;
+    }
+
+    int getResultSize() {
+        return result == null ? 0 : result.length;
+    }
+
+    private void done(long resultTtl) {
+        finished = System.currentTimeMillis();
+        expires = finished + resultTtl;
+    }
+}
@@ -0,0 +1,268 @@
+package org.jboss.da.rest.jobs;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.common.util.ConfigurationParseException;
+import org.jboss.da.metrics.MetricsConfiguration;
+import org.jboss.da.reports.model.request.JobPriority;
+import org.jboss.da.reports.model.response.JobState;
+import org.jboss.da.reports.model.response.JobStatus;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Queue and workers of the asynchronous report jobs. Jobs wait in a bounded priority queue and
+ * are started by a fixed number of workers. A job identical to a queued or running job is not
+ * created, the existing job is returned instead and gets the higher of the two priorities.
+ * Finished jobs and their results are kept for the configured time, the oldest ones are dropped
+ * sooner when the results together exceed the configured size.
+ */
+@ApplicationScoped
+public class JobManager {
+
+    private static final String METRICS_KEY = "da.reports.jobs";
+
+    @Inject
+    private Logger log;
+
+    @Resource
+    private ManagedThreadFactory threadFactory;
+
+    @Inject
+    private Configuration configuration;
+
+    @Inject
+    private MetricsConfiguration metricsConfiguration;
+
+    @Inject
+    private ObjectMapper mapper;
+
+    @Inject
+    private JobRunner runner;
+
+    private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>(11, Job.ORDER);
+
+    private final Map<String, Job> jobs = new HashMap<>();
+
+    private final Map<String, Job> inFlight = new HashMap<>();
+
+    /**
+     * Done jobs in the order they were done, which is also the order of their expiration.
+     */
+    private final Deque<Job> done = new ArrayDeque<>();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private long sequence;
+
+    private int queueSize;
+
+    private long resultTtl;
+
+    private long maxResultsSize;
+
+    private long resultsSize;
+
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void init() {
+        DAConfig config;
+        try {
+            config = configuration.getConfig();
+        } catch (ConfigurationParseException ex) {
+            throw new IllegalStateException("Configuration failure, can't configure report jobs",
+                    ex);
+        }
+        queueSize = config.getReportJobQueueSize();
+        resultTtl = config.getReportJobResultTtl();
+        maxResultsSize = config.getReportJobMaxResultsSize();
+
+        for (int i = 1; i <= config.getReportJobWorkers(); i++) {
+            Thread worker = threadFactory.newThread(this::work);
+            worker.setName("da-report-job-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        MetricRegistry registry = metricsConfiguration.getMetricRegistry();
+        if (registry == null) {
+            return;
+        }
+        registry.register(METRICS_KEY + ".queue", (Gauge<Integer>) queue::size);
+        registry.register(METRICS_KEY + ".running", (Gauge<Long>) this::countRunning);
+    }
+
+    @PreDestroy
+    void close() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Submits a new job, or returns the queued or running job with the same type and request.
+     * When the existing job has lower priority, it is raised to the submitted one.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public synchronized Job submit(JobType type, Object request, JobPriority priority)
+            throws JsonProcessingException {
+        purgeExpired();
+        String key = type + ":" + mapper.writeValueAsString(request);
+        Job existing = inFlight.get(key);
+        if (existing != null) {
+            if (priority.compareTo(existing.getPriority()) < 0) {
+                upgrade(existing, priority);
+            }
+            return existing;
+        }
+        if (queue.size() >= queueSize) {
+            throw new RejectedExecutionException("Report job queue is full");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), key, type, request, priority, ++sequence);
+        jobs.put(job.getId(), job);
+        inFlight.put(key, job);
+        queue.add(job);
+        return job;
+    }
+
+    private void upgrade(Job job, JobPriority priority) {
+        // the queue doesn't reorder the job itself, it must be queued again
+        boolean queued = queue.remove(job);
+        job.setPriority(priority);
+        if (queued) {
+            queue.add(job);
+        }
+    }
+
+    public synchronized Optional<Job> get(String id) {
+        purgeExpired();
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Cancels the job. A queued job is removed from the queue. A running job can't be stopped,
+     * but its result is discarded and an identical job may be submitted again.
+     */
+    public synchronized Optional<Job> cancel(String id) {
+        Job job = jobs.get(id);
+        if (job != null && job.cancel(resultTtl)) {
+            queue.remove(job);
+            inFlight.remove(job.getKey(), job);
+            retire(job);
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /**
+     * Returns consistent snapshot of the job status. Queued jobs include the number of queued
+     * jobs that will be started before them, running jobs include their progress.
+     */
+    public synchronized JobStatus getStatus(Job job) {
+        Integer queuePosition = null;
+        if (job.getState() == JobState.QUEUED) {
+            queuePosition = (int) queue.stream().filter(j -> Job.ORDER.compare(j, job) < 0)
+                    .count();
+        }
+        String progress = job.getState() == JobState.RUNNING ? job.getProgress() : null;
+        return JobStatus.builder()
+                .id(job.getId())
+                .type(job.getType().name())
+                .priority(job.getPriority())
+                .state(job.getState())
+                .queuePosition(queuePosition)
+                .progress(progress)
+                .submitted(job.getSubmitted())
+                .started(job.getStarted())
+                .finished(job.getFinished())
+                .error(job.getError())
+                .build();
+    }
+
+    private synchronized long countRunning() {
+        return jobs.values().stream().filter(j -> j.getState() == JobState.RUNNING).count();
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        while (!done.isEmpty() && done.peekFirst().getExpires() <= now) {
+            drop(done.pollFirst());
+        }
+    }
+
+    /**
+     * Keeps the done job until it expires, drops the oldest done jobs when the results are too
+     * big together.
+     */
+    private void retire(Job job) {
+        done.addLast(job);
+        resultsSize += job.getResultSize();
+        while (resultsSize > maxResultsSize && !done.isEmpty()) {
+            drop(done.pollFirst());
+        }
+    }
+
+    private void drop(Job job) {
+        jobs.remove(job.getId());
+        resultsSize -= job.getResultSize();
+    }
+
+    private void work() {
+        while (running) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException ex) {
+                continue;
+            }
+            synchronized (this) {
+                if (job.getState() != JobState.QUEUED) {
+                    continue;
+                }
+                job.start();
+            }
+
+            byte[] result = null;
+            String error = null;
+            try {
+                result = runner.run(job.getType(), job.getRequest(), job::setProgress);
+            } catch (Exception ex) {
+                log.warn("Report job " + job.getId() + " failed.", ex);
+                error = ex.getMessage() == null ? ex.getClass().getName() : ex.getMessage();
+            }
+
+            synchronized (this) {
+                if (job.finish(result, error, resultTtl)) {
+                    inFlight.remove(job.getKey(), job);
+                    retire(job);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.jboss.da.rest.jobs;
+
+import org.jboss.da.reports.model.request.AlignReportRequest;
+import org.jboss.da.reports.model.request.BuiltReportRequest;
+import org.jboss.da.reports.model.request.SCMReportRequest;
+import org.jboss.da.rest.facade.ReportsFacade;
+import org.jboss.da.rest.reports.ReportCache;
+import org.jboss.da.validation.Validation;
+import org.jboss.weld.context.activator.ActivateRequestContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Generates the report of a job. The workers don't serve any request, so the request context is
+ * activated for the generation. The reports are shared with the synchronous end points through
+ * the {@link ReportCache}.
+ */
+public class JobRunner {
+
+    @Inject
+    private ReportsFacade facade;
+
+    @Inject
+    private ReportCache reportCache;
+
+    @Inject
+    private ObjectMapper mapper;
+
+    @Inject
+    private Validation validation;
+
+    /**
+     * Returns the serialized report from the cache, or generates the report and caches it.
+     *
+     * @param type Type of the report.
+     * @param request Request of the report.
+     * @param progress Receives description of what the job is doing now.
+     * @return JSON of the report.
+     */
+    @ActivateRequestContext
+    public byte[] run(JobType type, Object request, Consumer<String> progress) throws Exception {
+        // creating the key resolves the revision in the remote repository
+        validation.validation(request, "Report job request is not valid");
+        progress.accept("Resolving revision");
+        Optional<ReportCache.Key> key = key(type, request);
+        Optional<byte[]> hit = key.flatMap(reportCache::get);
+        if (hit.isPresent()) {
+            return hit.get();
+        }
+
+        progress.accept("Generating report");
+        Object report = generate(type, request);
+        progress.accept("Writing report");
+        byte[] json;
+        if (report instanceof StreamingOutput) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ((StreamingOutput) report).write(out);
+            json = out.toByteArray();
+        } else {
+            json = mapper.writeValueAsBytes(report);
+        }
+        key.ifPresent(k -> reportCache.put(k, json));
+        return json;
+    }
+
+    private Optional<ReportCache.Key> key(JobType type, Object request) {
+        switch (type) {
+            case SCM:
+                return reportCache.scmKey("scm", (SCMReportRequest) request);
+            case SCM_ADVANCED:
+                return reportCache.scmKey("scm-advanced", (SCMReportRequest) request);
+            case ALIGN:
+                return reportCache.alignKey((AlignReportRequest) request);
+            case BUILT:
+                return reportCache.builtKey((BuiltReportRequest) request);
+            default:
+                throw new IllegalArgumentException("Unknown job type " + type);
+        }
+    }
+
+    private Object generate(JobType type, Object request) throws Exception {
+        switch (type) {
+            case SCM:
+                // the same serialization as of the synchronous end point, which shares the cache
+                return facade.scmReportStreaming((SCMReportRequest) request);
+            case SCM_ADVANCED:
+                return facade.advancedScmReport((SCMReportRequest) request);
+            case ALIGN:
+                return facade.alignReport((AlignReportRequest) request);
+            case BUILT:
+                return facade.builtReport((BuiltReportRequest) request);
+            default:
+                throw new IllegalArgumentException("Unknown job type " + type);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.jboss.da.rest.jobs;
+
+/**
+ * Reports that can be generated by asynchronous jobs.
+ */
+public enum JobType {
+    SCM, SCM_ADVANCED, ALIGN, BUILT
+}
@@ -0,0 +1,183 @@
+package org.jboss.da.rest.jobs;
+
+import org.jboss.da.model.rest.ErrorMessage;
+import org.jboss.da.model.rest.ErrorMessage.ErrorType;
+import org.jboss.da.reports.model.request.AlignReportRequest;
+import org.jboss.da.reports.model.request.BuiltReportRequest;
+import org.jboss.da.reports.model.request.JobPriority;
+import org.jboss.da.reports.model.request.SCMReportRequest;
+import org.jboss.da.reports.model.response.JobStatus;
+import org.slf4j.Logger;
+
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * End point for generating the SCM reports asynchronously. A submitted report is generated in
+ * background and the client polls for its status and fetches the result when it is finished.
+ */
+@Path("/jobs")
+@Api(value = "jobs")
+public class Jobs {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private JobManager jobManager;
+
+    @POST
+    @Path("/scm")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Submit job generating dependency report for a project specified in a "
+            + "repository URL", response = JobStatus.class)
+    public Response submitScm(@ApiParam(value = "scm information") SCMReportRequest request,
+            @ApiParam(value = "INTERACTIVE or BATCH") @QueryParam("priority") @DefaultValue("INTERACTIVE") String priority) {
+        return submit(JobType.SCM, request, priority);
+    }
+
+    @POST
+    @Path("/scm-advanced")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Submit job generating advanced dependency report for a project "
+            + "specified in a repository URL", response = JobStatus.class)
+    public Response submitAdvancedScm(
+            @ApiParam(value = "scm information") SCMReportRequest request,
+            @ApiParam(value = "INTERACTIVE or BATCH") @QueryParam("priority") @DefaultValue("INTERACTIVE") String priority) {
+        return submit(JobType.SCM_ADVANCED, request, priority);
+    }
+
+    @POST
+    @Path("/align")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Submit job generating alignment report for project specified in a "
+            + "repository URL.", response = JobStatus.class)
+    public Response submitAlign(AlignReportRequest request,
+            @ApiParam(value = "INTERACTIVE or BATCH") @QueryParam("priority") @DefaultValue("INTERACTIVE") String priority) {
+        return submit(JobType.ALIGN, request, priority);
+    }
+
+    @POST
+    @Path("/built")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Submit job generating built report for project specified in a "
+            + "repository URL.", response = JobStatus.class)
+    public Response submitBuilt(BuiltReportRequest request,
+            @ApiParam(value = "INTERACTIVE or BATCH") @QueryParam("priority") @DefaultValue("INTERACTIVE") String priority) {
+        return submit(JobType.BUILT, request, priority);
+    }
+
+    @GET
+    @Path("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get status of a report job", response = JobStatus.class)
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Job was not found",
+            response = ErrorMessage.class) })
+    public Response status(@PathParam("id") String id) {
+        Optional<Job> job = jobManager.get(id);
+        if (!job.isPresent()) {
+            return jobNotFound(id);
+        }
+        return Response.ok().entity(jobManager.getStatus(job.get())).build();
+    }
+
+    @GET
+    @Path("/{id}/result")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get the report generated by a finished job")
+    @ApiResponses(value = {
+            @ApiResponse(code = 404, message = "Job was not found", response = ErrorMessage.class),
+            @ApiResponse(code = 409, message = "Job is not finished", response = JobStatus.class),
+            @ApiResponse(code = 500, message = "Job failed", response = ErrorMessage.class) })
+    public Response result(@PathParam("id") String id) {
+        Optional<Job> job = jobManager.get(id);
+        if (!job.isPresent()) {
+            return jobNotFound(id);
+        }
+        JobStatus status = jobManager.getStatus(job.get());
+        switch (status.getState()) {
+            case FINISHED:
+                return Response.ok(job.get().getResult(), MediaType.APPLICATION_JSON).build();
+            case FAILED:
+                return Response.status(Status.INTERNAL_SERVER_ERROR)
+                        .entity(new ErrorMessage(ErrorType.UNEXPECTED_SERVER_ERR,
+                                "Report job failed", status.getError())).build();
+            default:
+                return Response.status(Status.CONFLICT).entity(status).build();
+        }
+    }
+
+    @DELETE
+    @Path("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Cancel a report job", response = JobStatus.class)
+    @ApiResponses(value = { @ApiResponse(code = 404, message = "Job was not found",
+            response = ErrorMessage.class) })
+    public Response cancel(@PathParam("id") String id) {
+        Optional<Job> job = jobManager.cancel(id);
+        if (!job.isPresent()) {
+            return jobNotFound(id);
+        }
+        return Response.ok().entity(jobManager.getStatus(job.get())).build();
+    }
+
+    private Response submit(JobType type, Object request, String priority) {
+        if (request == null) {
+            return Response.status(Status.BAD_REQUEST)
+                    .entity(new ErrorMessage(ErrorType.PARAMS_REQUIRED, "Request is missing", null))
+                    .build();
+        }
+        JobPriority jobPriority;
+        try {
+            jobPriority = JobPriority.valueOf(priority.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return Response.status(Status.BAD_REQUEST)
+                    .entity(new ErrorMessage(ErrorType.ILLEGAL_ARGUMENTS, "Unknown priority",
+                            priority)).build();
+        }
+
+        try {
+            Job job = jobManager.submit(type, request, jobPriority);
+            return Response.status(Status.ACCEPTED).entity(jobManager.getStatus(job)).build();
+        } catch (RejectedExecutionException ex) {
+            return Response.status(Status.SERVICE_UNAVAILABLE)
+                    .entity(new ErrorMessage(ErrorType.JOB_QUEUE_FULL,
+                            "Too many queued report jobs", ex.getMessage())).build();
+        } catch (Exception ex) {
+            log.error("Failed to submit report job", ex);
+            return Response.status(Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ErrorMessage(ErrorType.UNEXPECTED_SERVER_ERR,
+                            "Failed to submit report job", ex.getMessage())).build();
+        }
+    }
+
+    private static Response jobNotFound(String id) {
+        return Response.status(Status.NOT_FOUND)
+                .entity(new ErrorMessage(ErrorType.JOB_NOT_FOUND, "Job was not found", id))
+                .build();
+    }
+}
@@ -0,0 +1,282 @@
+package org.jboss.da.rest.reports;
+
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.common.util.ConfigurationParseException;
+import org.jboss.da.listings.api.service.BlacklistChangedEvent;
+import org.jboss.da.listings.api.service.ListingsChangedEvent;
+import org.jboss.da.reports.model.api.SCMLocator;
+import org.jboss.da.reports.model.request.AlignReportRequest;
+import org.jboss.da.reports.model.request.BuiltReportRequest;
+import org.jboss.da.reports.model.request.SCMReportRequest;
+import org.jboss.da.scm.api.SCM;
+import org.jboss.da.scm.api.SCMType;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Cache of serialized SCM reports. The reports are keyed by the commit id the requested revision
+ * resolves to, so a moved branch or tag never hits an old report. Every change of the listings
+ * starts a new generation and the reports of older generations are not served any more. Reports
+ * also expire after the configured time, because they contain artifacts found in repositories.
+ * Streamed reports are cached only up to the configured size.
+ */
+@ApplicationScoped
+public class ReportCache {
+
+    @Inject
+    private Configuration configuration;
+
+    @Inject
+    private SCM scm;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private int maxSize;
+
+    private long ttl;
+
+    private int maxReportSize;
+
+    private Map<Key, Entry> cache;
+
+    @PostConstruct
+    void init() {
+        DAConfig config;
+        try {
+            config = configuration.getConfig();
+        } catch (ConfigurationParseException ex) {
+            throw new IllegalStateException("Configuration failure, can't configure report cache",
+                    ex);
+        }
+        maxSize = config.getReportCacheSize();
+        ttl = config.getReportCacheTtl();
+        maxReportSize = config.getReportCacheMaxReportSize();
+        cache = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    void onListingsChanged(
+            @Observes(during = TransactionPhase.AFTER_SUCCESS) ListingsChangedEvent event) {
+        invalidate();
+    }
+
+    void onBlacklistChanged(
+            @Observes(during = TransactionPhase.AFTER_SUCCESS) BlacklistChangedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    /**
+     * Creates cache key of a report. Must be called before the report is generated, so that a
+     * report generated concurrently with a change of the listings is not cached.
+     *
+     * @param type Type of the report.
+     * @param scmUrl URL of the git repository.
+     * @param revision Requested revision, it is resolved to commit id.
+     * @param pomPath Path to the analysed pom.
+     * @param repositories Additional repositories used for the analysis.
+     * @param productFilter Parameters of the request restricting products.
+     * @return The key, or empty when the cache is disabled or the revision can't be resolved.
+     */
+    public Optional<Key> key(String type, String scmUrl, String revision, String pomPath,
+            List<String> repositories, Object... productFilter) {
+        if (maxSize <= 0 || scmUrl == null || revision == null) {
+            return Optional.empty();
+        }
+        long keyGeneration = generation.get();
+        // the request objects may be modified when the report is generated
+        List<String> repositoriesCopy = repositories == null ? null : new ArrayList<>(repositories);
+        List<Object> productFilterCopy = new ArrayList<>();
+        for (Object filter : productFilter) {
+            productFilterCopy.add(filter instanceof Set ? new HashSet<>((Set<?>) filter) : filter);
+        }
+        return scm.resolveRevision(SCMType.GIT, scmUrl, revision).map(
+                commit -> new Key(type, scmUrl, commit, pomPath, repositoriesCopy,
+                        productFilterCopy, keyGeneration));
+    }
+
+    /**
+     * Creates cache key of the SCM report.
+     *
+     * @param type Type of the report.
+     * @param request Request of the report, may be null.
+     * @see #key(String, String, String, String, List, Object...)
+     */
+    public Optional<Key> scmKey(String type, SCMReportRequest request) {
+        if (request == null || request.getScml() == null) {
+            return Optional.empty();
+        }
+        SCMLocator scml = request.getScml();
+        return key(type, scml.getScmUrl(), scml.getRevision(), scml.getPomPath(),
+                scml.getRepositories(), request.getProductNames(), request.getProductVersionIds());
+    }
+
+    /**
+     * Creates cache key of the alignment report.
+     *
+     * @param request Request of the report, may be null.
+     * @see #key(String, String, String, String, List, Object...)
+     */
+    public Optional<Key> alignKey(AlignReportRequest request) {
+        if (request == null) {
+            return Optional.empty();
+        }
+        return key("align", request.getScmUrl(), request.getRevision(), request.getPomPath(),
+                request.getAdditionalRepos(), request.getProducts(),
+                request.isSearchUnknownProducts());
+    }
+
+    /**
+     * Creates cache key of the built report.
+     *
+     * @param request Request of the report, may be null.
+     * @see #key(String, String, String, String, List, Object...)
+     */
+    public Optional<Key> builtKey(BuiltReportRequest request) {
+        if (request == null) {
+            return Optional.empty();
+        }
+        return key("built", request.getScmUrl(), request.getRevision(), request.getPomPath(),
+                request.getAdditionalRepos());
+    }
+
+    public Optional<byte[]> get(Key key) {
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (System.currentTimeMillis() >= entry.expires) {
+                cache.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(entry.report);
+        }
+    }
+
+    public void put(Key key, byte[] report) {
+        synchronized (cache) {
+            if (key.generation == generation.get()) {
+                cache.put(key, new Entry(report, System.currentTimeMillis() + ttl));
+            }
+        }
+    }
+
+    /**
+     * Returns output writing the streamed report, which also caches the written report when it is
+     * not bigger than the configured size. The report is not cached when the writing fails.
+     */
+    public StreamingOutput caching(Key key, StreamingOutput report) {
+        return output -> {
+            CappedCopyOutputStream copying = new CappedCopyOutputStream(output, maxReportSize);
+            report.write(copying);
+            copying.flush();
+            copying.getCopy().ifPresent(json -> put(key, json));
+        };
+    }
+
+    /**
+     * Writes to the underlying stream and keeps copy of the written bytes until the limit is
+     * exceeded.
+     */
+    private static class CappedCopyOutputStream extends FilterOutputStream {
+
+        private final int limit;
+
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CappedCopyOutputStream(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy(b, off, len);
+        }
+
+        private void copy(byte[] b, int off, int len) {
+            if (copy == null) {
+                return;
+            }
+            if (copy.size() + len > limit) {
+                copy = null;
+            } else {
+                copy.write(b, off, len);
+            }
+        }
+
+        Optional<byte[]> getCopy() {
+            return copy == null ? Optional.empty() : Optional.of(copy.toByteArray());
+        }
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Key {
+
+        private final String type;
+
+        private final String scmUrl;
+
+        private final String commit;
+
+        private final String pomPath;
+
+        private final List<String> repositories;
+
+        private final List<Object> productFilter;
+
+        private final long generation;
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+
+        private final byte[] report;
+
+        private final long expires;
+    }
+}
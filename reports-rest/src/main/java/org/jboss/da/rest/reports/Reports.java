@@ -30,6 +30,9 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -37,10 +40,13 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
+import org.jboss.da.validation.Validation;
 import org.jboss.da.validation.ValidationException;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Main end point for the reports
@@ -53,12 +59,23 @@ import java.util.NoSuchElementException;
 @Api(value = "reports")
 public class Reports {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     @Inject
     private Logger log;
 
     @Inject
     private ReportsFacade facade;
 
+    @Inject
+    private ReportCache reportCache;
+
+    @Inject
+    private Validation validation;
+
+    @Inject
+    private ObjectMapper mapper;
+
     @POST
     @Path("/scm")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -67,7 +84,8 @@ public class Reports {
             response = Report.class)
     public Response scmGenerator(@ApiParam(value = "scm information") SCMReportRequest request) {
         try {
-            return Response.ok().entity(facade.scmReport(request)).build();
+            return cached(request, r -> reportCache.scmKey("scm", r),
+                    () -> facade.scmReportStreaming(request));
         } catch (NoSuchElementException e) {
             return handleException("No relationship found", ErrorType.NO_RELATIONSHIP_FOUND,
                     Status.NOT_FOUND, e);
@@ -85,7 +103,8 @@ public class Reports {
     public Response advancedScmGenerator(
             @ApiParam(value = "scm information") SCMReportRequest request) {
         try {
-            return Response.ok().entity(facade.advancedScmReport(request)).build();
+            return cached(request, r -> reportCache.scmKey("scm-advanced", r),
+                    () -> facade.advancedScmReport(request));
         } catch (NoSuchElementException e) {
             return handleException("No relationship found", ErrorType.NO_RELATIONSHIP_FOUND,
                     Status.NOT_FOUND, e);
@@ -144,6 +163,20 @@ public class Reports {
         }
     }
 
+    @POST
+    @Path("/lookup/gavs/stream")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(APPLICATION_NDJSON)
+    @ApiOperation(value = "Lookup built versions for the list of provided GAVs, streaming each "
+            + "report as a separate line as soon as it is available. The last line lists GAs "
+            + "which lookup failed.", responseContainer = "List", response = LookupReport.class)
+    public Response lookupGavStreaming(
+            @ApiParam(
+                    value = "JSON list of objects with keys 'groupId', 'artifactId', and 'version'") LookupGAVsRequest gavRequest) {
+        log.info("Incoming request to /lookup/gavs/stream. Payload: " + gavRequest);
+        return Response.ok(facade.gavsReportStreaming(gavRequest), APPLICATION_NDJSON).build();
+    }
+
     @POST
     @Path("/lookup/npm")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -176,7 +209,7 @@ public class Reports {
             response = AlignReport.class)
     public Response alignReport(AlignReportRequest request) {
         try {
-            return Response.status(Status.OK).entity(facade.alignReport(request)).build();
+            return cached(request, reportCache::alignKey, () -> facade.alignReport(request));
         } catch (Exception e) {
             return handleException(e);
         }
@@ -190,12 +223,48 @@ public class Reports {
             response = BuiltReport.class)
     public Response builtReport(BuiltReportRequest request) {
         try {
-            return Response.status(Status.OK).entity(facade.builtReport(request)).build();
+            return cached(request, reportCache::builtKey, () -> facade.builtReport(request));
         } catch (Exception e) {
             return handleException(e);
         }
     }
 
+    /**
+     * Returns the serialized report from the cache, or generates the report and caches it.
+     * Streamed report is written directly to the response and cached while it is written. The
+     * request is validated first, because creating the key resolves the revision in the remote
+     * repository.
+     */
+    private <T> Response cached(T request, Function<T, Optional<ReportCache.Key>> keyFunction,
+            ReportSupplier report) throws Exception {
+        Optional<ReportCache.Key> key = Optional.empty();
+        if (request != null) {
+            validation.validation(request, "Report request is not valid");
+            key = keyFunction.apply(request);
+        }
+        if (!key.isPresent()) {
+            return Response.ok().entity(report.get()).build();
+        }
+        Optional<byte[]> hit = reportCache.get(key.get());
+        if (hit.isPresent()) {
+            return Response.ok(hit.get(), MediaType.APPLICATION_JSON).build();
+        }
+        Object entity = report.get();
+        if (entity instanceof StreamingOutput) {
+            return Response.ok(reportCache.caching(key.get(), (StreamingOutput) entity),
+                    MediaType.APPLICATION_JSON).build();
+        }
+        byte[] json = mapper.writeValueAsBytes(entity);
+        reportCache.put(key.get(), json);
+        return Response.ok(json, MediaType.APPLICATION_JSON).build();
+    }
+
+    @FunctionalInterface
+    private interface ReportSupplier {
+
+        Object get() throws Exception;
+    }
+
     private Response handleException(Exception e) {
         if (e instanceof ValidationException) { // order of tests is important
             return ((ValidationException) e).getResponse();
@@ -0,0 +1,76 @@
+package org.jboss.da.rest.facade;
+
+import org.jboss.da.listings.model.ProductSupportStatus;
+import org.jboss.da.model.rest.GAV;
+import org.jboss.da.products.api.Product;
+import org.jboss.da.reports.api.ArtifactReport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+
+public class ReportJsonWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testSingleReport() throws IOException {
+        ArtifactReport root = report("example", "1.0");
+
+        assertSameJson(root);
+    }
+
+    @Test
+    public void testReportWithSharedAndNotBuiltDependencies() throws IOException {
+        ArtifactReport root = report("example", "1.0");
+        root.setAvailableVersions(Arrays.asList("1.0.0.redhat-1", "1.0.0.redhat-2"));
+        root.setBestMatchVersion(Optional.of("1.0.0.redhat-2"));
+        root.setWhitelisted(Arrays.asList(new Product("EAP", "7.0",
+                ProductSupportStatus.SUPPORTED), new Product("Fuse", "6.3")));
+
+        ArtifactReport built = report("built", "2.0");
+        built.setBestMatchVersion(Optional.of("2.0.0.redhat-1"));
+
+        ArtifactReport notBuilt = report("not-built", "3.0");
+        notBuilt.setBlacklisted(true);
+
+        ArtifactReport shared = report("shared", "4.0");
+        ArtifactReport leaf = report("leaf", "5.0");
+        leaf.setBestMatchVersion(Optional.of("5.0.0.redhat-1"));
+
+        root.addDependency(built);
+        root.addDependency(notBuilt);
+        built.addDependency(shared);
+        notBuilt.addDependency(shared);
+        shared.addDependency(leaf);
+
+        JsonNode json = assertSameJson(root);
+        assertEquals(3, json.get("notBuiltDependencies").asInt());
+    }
+
+    /**
+     * Creates report with empty list of whitelisting products as the reports generator does.
+     */
+    private static ArtifactReport report(String artifactId, String version) {
+        ArtifactReport report = new ArtifactReport(new GAV("org.example", artifactId, version));
+        report.setWhitelisted(Collections.emptyList());
+        return report;
+    }
+
+    private JsonNode assertSameJson(ArtifactReport report) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ReportJsonWriter(mapper.getFactory(), report).write(output);
+
+        JsonNode written = mapper.readTree(output.toByteArray());
+        assertEquals(mapper.valueToTree(Translate.toReport(report)), written);
+        return written;
+    }
+}
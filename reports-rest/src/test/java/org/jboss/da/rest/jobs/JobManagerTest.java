@@ -0,0 +1,250 @@
+package org.jboss.da.rest.jobs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.metrics.MetricsConfiguration;
+import org.jboss.da.reports.model.request.JobPriority;
+import org.jboss.da.reports.model.response.JobState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+import javax.enterprise.concurrent.ManagedThreadFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JobManagerTest {
+
+    @Mock
+    private ManagedThreadFactory threadFactory;
+
+    @Mock
+    private Configuration configuration;
+
+    @Mock
+    private MetricsConfiguration metricsConfiguration;
+
+    @Mock
+    private JobRunner runner;
+
+    @Mock
+    private Logger log;
+
+    @Spy
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @InjectMocks
+    private JobManager jobManager;
+
+    private final DAConfig config = new DAConfig();
+
+    @Before
+    public void setUp() throws Exception {
+        when(configuration.getConfig()).thenReturn(config);
+        when(threadFactory.newThread(any(Runnable.class))).then(
+                i -> new Thread((Runnable) i.getArguments()[0]));
+    }
+
+    @After
+    public void tearDown() {
+        jobManager.close();
+    }
+
+    @Test
+    public void testSameRequestIsDeduplicated() throws Exception {
+        config.setReportJobWorkers(0);
+        jobManager.init();
+
+        Job first = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        Job second = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        Job otherRequest = jobManager.submit(JobType.SCM, "bar", JobPriority.BATCH);
+        Job otherType = jobManager.submit(JobType.ALIGN, "foo", JobPriority.BATCH);
+
+        assertSame(first, second);
+        assertNotEquals(first.getId(), otherRequest.getId());
+        assertNotEquals(first.getId(), otherType.getId());
+    }
+
+    @Test
+    public void testDuplicateWithHigherPriorityIsRequeued() throws Exception {
+        config.setReportJobWorkers(0);
+        jobManager.init();
+
+        Job first = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        Job second = jobManager.submit(JobType.SCM, "bar", JobPriority.BATCH);
+        assertEquals(Integer.valueOf(1), jobManager.getStatus(second).getQueuePosition());
+
+        Job upgraded = jobManager.submit(JobType.SCM, "bar", JobPriority.INTERACTIVE);
+
+        assertSame(second, upgraded);
+        assertEquals(JobPriority.INTERACTIVE, second.getPriority());
+        assertEquals(Integer.valueOf(0), jobManager.getStatus(second).getQueuePosition());
+        assertEquals(Integer.valueOf(1), jobManager.getStatus(first).getQueuePosition());
+
+        jobManager.submit(JobType.SCM, "bar", JobPriority.BATCH);
+        assertEquals(JobPriority.INTERACTIVE, second.getPriority());
+    }
+
+    @Test
+    public void testFullQueueRejectsNewJobs() throws Exception {
+        config.setReportJobWorkers(0);
+        config.setReportJobQueueSize(2);
+        jobManager.init();
+
+        Job first = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        jobManager.submit(JobType.SCM, "bar", JobPriority.BATCH);
+        try {
+            jobManager.submit(JobType.SCM, "baz", JobPriority.INTERACTIVE);
+            fail("Expected the queue to be full");
+        } catch (RejectedExecutionException ex) {
+            // expected
+        }
+        assertSame(first, jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH));
+    }
+
+    @Test
+    public void testCancelQueuedJob() throws Exception {
+        config.setReportJobWorkers(0);
+        jobManager.init();
+
+        Job job = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        Job other = jobManager.submit(JobType.SCM, "bar", JobPriority.BATCH);
+        jobManager.cancel(job.getId());
+
+        assertEquals(JobState.CANCELLED, job.getState());
+        assertEquals(Integer.valueOf(0), jobManager.getStatus(other).getQueuePosition());
+        Job resubmitted = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        assertNotEquals(job.getId(), resubmitted.getId());
+    }
+
+    @Test(timeout = 10000)
+    public void testCancelRunningJobDiscardsResult() throws Exception {
+        config.setReportJobWorkers(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(runner.run(eq(JobType.SCM), eq("foo"), any(Consumer.class))).then(i -> {
+            started.countDown();
+            release.await();
+            return new byte[] { 1 };
+        });
+        jobManager.init();
+
+        Job job = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        started.await();
+        assertEquals(JobState.RUNNING, job.getState());
+        jobManager.cancel(job.getId());
+        Job resubmitted = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        release.countDown();
+
+        assertNotEquals(job.getId(), resubmitted.getId());
+        // the single worker starts the resubmitted job only after the cancelled one returned
+        awaitDone(resubmitted);
+        assertEquals(JobState.CANCELLED, job.getState());
+        assertNull(job.getResult());
+    }
+
+    @Test(timeout = 10000)
+    public void testRunningJobReportsProgress() throws Exception {
+        config.setReportJobWorkers(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(runner.run(eq(JobType.SCM), eq("foo"), any(Consumer.class))).then(i -> {
+            ((Consumer<String>) i.getArguments()[2]).accept("Generating report");
+            release.await();
+            return new byte[] { 1 };
+        });
+        jobManager.init();
+
+        Job job = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        while (job.getProgress() == null) {
+            Thread.sleep(10);
+        }
+        assertEquals("Generating report", jobManager.getStatus(job).getProgress());
+
+        release.countDown();
+        awaitDone(job);
+        assertEquals(JobState.FINISHED, job.getState());
+        assertNull(jobManager.getStatus(job).getProgress());
+        assertArrayEquals(new byte[] { 1 }, job.getResult());
+    }
+
+    @Test(timeout = 10000)
+    public void testFailedJobKeepsError() throws Exception {
+        config.setReportJobWorkers(1);
+        when(runner.run(eq(JobType.SCM), eq("foo"), any(Consumer.class))).thenThrow(
+                new IllegalStateException("No such revision"));
+        jobManager.init();
+
+        Job job = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        awaitDone(job);
+
+        assertEquals(JobState.FAILED, job.getState());
+        assertEquals("No such revision", job.getError());
+    }
+
+    @Test(timeout = 10000)
+    public void testExpiredJobIsPurged() throws Exception {
+        config.setReportJobWorkers(1);
+        config.setReportJobResultTtl(0);
+        when(runner.run(eq(JobType.SCM), eq("foo"), any(Consumer.class))).thenReturn(
+                new byte[] { 1 });
+        jobManager.init();
+
+        Job job = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        awaitDone(job);
+
+        assertFalse(jobManager.get(job.getId()).isPresent());
+    }
+
+    @Test(timeout = 10000)
+    public void testOldestResultsAreDroppedWhenTooBig() throws Exception {
+        config.setReportJobWorkers(1);
+        config.setReportJobMaxResultsSize(10);
+        when(runner.run(eq(JobType.SCM), any(), any(Consumer.class))).thenReturn(new byte[4]);
+        jobManager.init();
+
+        Job first = jobManager.submit(JobType.SCM, "foo", JobPriority.BATCH);
+        awaitDone(first);
+        Job second = jobManager.submit(JobType.SCM, "bar", JobPriority.BATCH);
+        awaitDone(second);
+        assertTrue(jobManager.get(first.getId()).isPresent());
+
+        Job third = jobManager.submit(JobType.SCM, "baz", JobPriority.BATCH);
+        awaitDone(third);
+
+        assertFalse(jobManager.get(first.getId()).isPresent());
+        assertTrue(jobManager.get(second.getId()).isPresent());
+        assertTrue(jobManager.get(third.getId()).isPresent());
+    }
+
+    private void awaitDone(Job job) throws InterruptedException {
+        while (!isDone(jobManager.getStatus(job).getState())) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static boolean isDone(JobState state) {
+        return state != JobState.QUEUED && state != JobState.RUNNING;
+    }
+}
@@ -0,0 +1,194 @@
+package org.jboss.da.rest.reports;
+
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.scm.api.SCM;
+import org.jboss.da.scm.api.SCMType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReportCacheTest {
+
+    private static final String SCM_URL = "https://github.com/project-ncl/dependency-analysis.git";
+
+    private static final String COMMIT = "0123456789abcdef0123456789abcdef01234567";
+
+    private static final byte[] REPORT = { '{', '}' };
+
+    @Mock
+    private Configuration configuration;
+
+    @Mock
+    private SCM scm;
+
+    @InjectMocks
+    private ReportCache reportCache;
+
+    private final DAConfig config = new DAConfig();
+
+    @Before
+    public void setUp() throws Exception {
+        when(configuration.getConfig()).thenReturn(config);
+        when(scm.resolveRevision(eq(SCMType.GIT), eq(SCM_URL), anyString())).thenReturn(
+                Optional.of(COMMIT));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        reportCache.init();
+        ReportCache.Key key = key("master");
+
+        reportCache.put(key, REPORT);
+
+        assertArrayEquals(REPORT, reportCache.get(key).get());
+        assertArrayEquals(REPORT, reportCache.get(key("other-branch")).get());
+    }
+
+    @Test
+    public void testUnresolvedRevisionHasNoKey() {
+        reportCache.init();
+        when(scm.resolveRevision(SCMType.GIT, SCM_URL, "missing")).thenReturn(Optional.empty());
+
+        assertFalse(reportCache.key("scm", SCM_URL, "missing", "", null).isPresent());
+    }
+
+    @Test
+    public void testListingsChangeInvalidatesReports() {
+        reportCache.init();
+        ReportCache.Key key = key("master");
+        reportCache.put(key, REPORT);
+
+        reportCache.onListingsChanged(null);
+
+        assertFalse(reportCache.get(key).isPresent());
+        assertFalse(reportCache.get(key("master")).isPresent());
+    }
+
+    @Test
+    public void testReportGeneratedDuringListingsChangeIsNotCached() {
+        reportCache.init();
+        ReportCache.Key key = key("master");
+
+        reportCache.onBlacklistChanged(null);
+        reportCache.put(key, REPORT);
+
+        assertFalse(reportCache.get(key).isPresent());
+        assertFalse(reportCache.get(key("master")).isPresent());
+    }
+
+    @Test
+    public void testExpiredReportIsNotServed() {
+        config.setReportCacheTtl(0);
+        reportCache.init();
+        ReportCache.Key key = key("master");
+
+        reportCache.put(key, REPORT);
+
+        assertFalse(reportCache.get(key).isPresent());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedReportIsEvicted() {
+        config.setReportCacheSize(2);
+        reportCache.init();
+        ReportCache.Key first = key("master", "first.xml");
+        ReportCache.Key second = key("master", "second.xml");
+        ReportCache.Key third = key("master", "third.xml");
+
+        reportCache.put(first, REPORT);
+        reportCache.put(second, REPORT);
+        reportCache.get(first);
+        reportCache.put(third, REPORT);
+
+        assertTrue(reportCache.get(first).isPresent());
+        assertFalse(reportCache.get(second).isPresent());
+        assertTrue(reportCache.get(third).isPresent());
+    }
+
+    @Test
+    public void testDisabledCacheHasNoKey() {
+        config.setReportCacheSize(0);
+        reportCache.init();
+
+        assertFalse(reportCache.key("scm", SCM_URL, "master", "", null).isPresent());
+    }
+
+    @Test
+    public void testStreamedReportIsCached() throws IOException {
+        reportCache.init();
+        ReportCache.Key key = key("master");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        reportCache.caching(key, writing(REPORT)).write(out);
+
+        assertArrayEquals(REPORT, out.toByteArray());
+        assertArrayEquals(REPORT, reportCache.get(key).get());
+    }
+
+    @Test
+    public void testTooBigStreamedReportIsNotCached() throws IOException {
+        config.setReportCacheMaxReportSize(3);
+        reportCache.init();
+        ReportCache.Key key = key("master");
+        byte[] report = "[1,2]".getBytes();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        reportCache.caching(key, output -> {
+            output.write(report, 0, 2);
+            output.write(report[2]);
+            output.write(report, 3, 2);
+        }).write(out);
+
+        assertArrayEquals(report, out.toByteArray());
+        assertFalse(reportCache.get(key).isPresent());
+    }
+
+    @Test
+    public void testFailedStreamedReportIsNotCached() {
+        reportCache.init();
+        ReportCache.Key key = key("master");
+
+        try {
+            reportCache.caching(key, output -> {
+                output.write(REPORT);
+                throw new IOException("Connection reset");
+            }).write(new ByteArrayOutputStream());
+        } catch (IOException ex) {
+            // expected
+        }
+
+        assertFalse(reportCache.get(key).isPresent());
+    }
+
+    private ReportCache.Key key(String revision) {
+        return key(revision, "pom.xml");
+    }
+
+    private ReportCache.Key key(String revision, String pomPath) {
+        return reportCache.key("scm", SCM_URL, revision, pomPath,
+                Collections.singletonList("http://repo"), Collections.emptySet()).get();
+    }
+
+    private static StreamingOutput writing(byte[] report) {
+        return output -> output.write(report);
+    }
+}
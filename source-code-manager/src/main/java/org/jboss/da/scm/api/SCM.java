@@ -3,6 +3,7 @@ package org.jboss.da.scm.api;
 import java.io.File;
 import java.time.Duration;
 import java.time.temporal.TemporalAmount;
+import java.util.Optional;
 import org.apache.maven.scm.ScmException;
 
 /**
@@ -30,4 +31,14 @@ public interface SCM {
      * @see SCM#TIME_TO_KEEP
      */
     File cloneRepository(SCMType scmType, String scmUrl, String revision) throws ScmException;
+
+    /**
+     * Resolves the revision of the remote repository to the commit id it currently points to,
+     * without cloning the repository.
+     * @param scmType
+     * @param scmUrl
+     * @param revision branch, tag or commit id
+     * @return commit id, or empty when the revision couldn't be resolved
+     */
+    Optional<String> resolveRevision(SCMType scmType, String scmUrl, String revision);
 }
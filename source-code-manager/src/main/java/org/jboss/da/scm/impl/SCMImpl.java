@@ -9,6 +9,7 @@ import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -71,4 +72,9 @@ public class SCMImpl implements SCM {
             }
         }
     }
+
+    @Override
+    public Optional<String> resolveRevision(SCMType scmType, String scmUrl, String revision) {
+        return scm.resolveRevision(scmType, scmUrl, revision);
+    }
 }
@@ -13,16 +13,27 @@ import org.apache.maven.scm.provider.git.jgit.JGitScmProvider;
 import org.apache.maven.scm.provider.svn.svnexe.SvnExeScmProvider;
 import org.apache.maven.scm.repository.ScmRepository;
 import org.apache.maven.scm.repository.ScmRepositoryException;
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.common.util.ConfigurationParseException;
 import org.jboss.da.scm.api.SCMType;
 import org.slf4j.Logger;
 
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Facade, which simplifies operations with the SCM repositories
@@ -34,8 +45,15 @@ public class ScmFacade {
     @Inject
     private Logger logger;
 
+    @Inject
+    private Configuration configuration;
+
+    private static final Pattern COMMIT_ID = Pattern.compile("[0-9a-f]{40}");
+
     private final ScmManager scmManager;
 
+    private long resolveTimeout;
+
     public ScmFacade() {
         scmManager = new BasicScmManager();
 
@@ -44,6 +62,18 @@ public class ScmFacade {
         scmManager.setScmProvider(SCMType.SVN.toString(), new SvnExeScmProvider());
     }
 
+    @PostConstruct
+    void init() {
+        DAConfig config;
+        try {
+            config = configuration.getConfig();
+        } catch (ConfigurationParseException ex) {
+            throw new IllegalStateException("Configuration failure, can't configure SCM access",
+                    ex);
+        }
+        resolveTimeout = config.getScmResolveTimeout();
+    }
+
     /**
      * Tries to do a shallow clone (clone only the requested revision) of the remote repository
      * to the local directory.
@@ -115,6 +145,76 @@ public class ScmFacade {
                     + scmFileSet.toString() + " to the repository " + repo);
     }
 
+    /**
+     * Resolves the revision of the remote repository to the commit id it currently points to,
+     * without cloning the repository. Only git repositories are supported.
+     *
+     * @param scmType Type of the repository
+     * @param scmUrl URL to the repository
+     * @param revision Branch, tag or commit id
+     * @return Commit id, or empty when the revision couldn't be resolved in the configured time
+     */
+    public Optional<String> resolveRevision(SCMType scmType, String scmUrl, String revision) {
+        if (!scmType.equals(SCMType.GIT) || revision == null || revision.isEmpty()
+                || revision.startsWith("-")) {
+            // revision starting with dash would be taken as an option
+            return Optional.empty();
+        }
+        if (COMMIT_ID.matcher(revision).matches()) {
+            return Optional.of(revision);
+        }
+
+        try {
+            ProcessBuilder pb = new ProcessBuilder("git", "ls-remote", "--", scmUrl, revision,
+                    revision + "^{}");
+            pb.redirectErrorStream(true);
+
+            Map<String, String> env = pb.environment();
+            env.put("GIT_ASKPASS", "/bin/echo"); // git <= 2.3
+            env.put("GIT_TERMINAL_PROMPT", "0"); // git > 2.3
+
+            Process p = pb.start();
+            // the output has a few lines only, so it fits into the pipe and can be read afterwards
+            if (!p.waitFor(resolveTimeout, TimeUnit.MILLISECONDS)) {
+                p.destroyForcibly();
+                logger.warn("Resolving revision " + revision + " of " + scmUrl + " timed out after "
+                        + resolveTimeout + " ms");
+                return Optional.empty();
+            }
+            if (p.exitValue() != 0) {
+                return Optional.empty();
+            }
+
+            Map<String, String> refs = new HashMap<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    p.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] parts = line.split("\t", 2);
+                    if (parts.length == 2) {
+                        refs.put(parts[1], parts[0]);
+                    }
+                }
+            }
+
+            // same preference as 'git clone --branch': branch first, then tag
+            String commit = refs.get("refs/heads/" + revision);
+            if (commit == null) {
+                commit = refs.get("refs/tags/" + revision + "^{}");
+            }
+            if (commit == null) {
+                commit = refs.get("refs/tags/" + revision);
+            }
+            return Optional.ofNullable(commit);
+        } catch (IOException ex) {
+            logger.warn("Could not resolve revision " + revision + " of " + scmUrl, ex);
+            return Optional.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
     private ScmRepository getScmRepository(String scmUrl, ScmManager scmManager)
             throws ScmException {
         try {
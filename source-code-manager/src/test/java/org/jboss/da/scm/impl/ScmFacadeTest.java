@@ -0,0 +1,143 @@
+package org.jboss.da.scm.impl;
+
+import org.jboss.da.common.json.DAConfig;
+import org.jboss.da.common.util.Configuration;
+import org.jboss.da.scm.api.SCMType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Resolves revisions of a local git repository, so git must be installed.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ScmFacadeTest {
+
+    private static final String COMMIT = "0123456789abcdef0123456789abcdef01234567";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private Configuration configuration;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private ScmFacade scmFacade;
+
+    private File repository;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configuration.getConfig()).thenReturn(new DAConfig());
+        scmFacade.init();
+        repository = folder.newFolder("repository");
+        git("init", "-q");
+    }
+
+    @Test
+    public void testCommitIdIsNotResolved() {
+        Optional<String> commit = scmFacade.resolveRevision(SCMType.GIT, "/does/not/exist",
+                COMMIT);
+
+        assertEquals(Optional.of(COMMIT), commit);
+    }
+
+    @Test
+    public void testBranchIsPreferredToTag() throws Exception {
+        String tagged = commit("first");
+        git("tag", "-a", "-m", "release", "1.0");
+        String branch = commit("second");
+        git("branch", "1.0");
+
+        assertEquals(Optional.of(branch), resolve("1.0"));
+        assertNotEquals(tagged, branch);
+    }
+
+    @Test
+    public void testAnnotatedTagIsPeeled() throws Exception {
+        String tagged = commit("first");
+        git("tag", "-a", "-m", "release", "1.0");
+        commit("second");
+
+        assertEquals(Optional.of(tagged), resolve("1.0"));
+    }
+
+    @Test
+    public void testLightweightTag() throws Exception {
+        String tagged = commit("first");
+        git("tag", "1.0");
+        commit("second");
+
+        assertEquals(Optional.of(tagged), resolve("1.0"));
+    }
+
+    @Test
+    public void testUnknownRevision() throws Exception {
+        commit("first");
+
+        assertFalse(resolve("1.0").isPresent());
+    }
+
+    @Test
+    public void testRevisionStartingWithDashIsRejected() throws Exception {
+        commit("first");
+
+        assertFalse(resolve("--upload-pack=touch " + new File(folder.getRoot(), "pwned"))
+                .isPresent());
+        assertFalse(new File(folder.getRoot(), "pwned").exists());
+    }
+
+    private Optional<String> resolve(String revision) {
+        return scmFacade.resolveRevision(SCMType.GIT, repository.getAbsolutePath(), revision);
+    }
+
+    private String commit(String message) throws IOException, InterruptedException {
+        git("commit", "-q", "--allow-empty", "-m", message);
+        return git("rev-parse", "HEAD");
+    }
+
+    private String git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(Arrays.asList("git", "-c", "user.name=Test",
+                "-c", "user.email=test@example.com", "-c", "commit.gpgsign=false", "-c",
+                "tag.gpgsign=false"));
+        command.addAll(Arrays.asList(args));
+        Process p = new ProcessBuilder(command).directory(repository).redirectErrorStream(true)
+                .start();
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line);
+            }
+        }
+        if (p.waitFor() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " failed: " + output);
+        }
+        return output.toString();
+    }
+}